@@ -42,8 +42,9 @@ public class CorsFilter implements Filter {
         response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, PATCH, OPTIONS");
         response.setHeader("Access-Control-Max-Age", "3600");
         response.setHeader("Access-Control-Allow-Headers", 
-                "Origin, X-Requested-With, Content-Type, Accept, Authorization, Cache-Control, X-Auth-Token");
-        response.setHeader("Access-Control-Expose-Headers", "Authorization");
+                "Origin, X-Requested-With, Content-Type, Accept, Authorization, Cache-Control, X-Auth-Token, If-None-Match, If-Match, Last-Event-ID");
+        response.setHeader("Access-Control-Expose-Headers",
+                "Authorization, ETag, Retry-After, RateLimit-Limit, RateLimit-Remaining, RateLimit-Reset");
 
         // Handle preflight OPTIONS requests
         if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
@@ -0,0 +1,78 @@
+package com.playschool.management.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level and query caches. Every region is
+ * created here, bounded by entry count and time-to-live read from cache.regions.&lt;region&gt;.max-size / .ttl
+ * (ttl 0 = no expiry), and handed to Hibernate as a ready CacheManager.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    
+    public static final String ROLES_REGION = "roles";
+    public static final String USERS_REGION = "users";
+    public static final String USER_ROLES_REGION = "users.roles";
+    public static final String STUDENTS_REGION = "students";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    
+    private record Limits(long maxSize, Duration ttl) {}
+    
+    // Defaults; the update timestamps region must outlive every cached query result, so it never expires
+    private static final Map<String, Limits> DEFAULTS = new LinkedHashMap<>();
+    
+    static {
+        DEFAULTS.put(ROLES_REGION, new Limits(100, Duration.ZERO));
+        DEFAULTS.put(USERS_REGION, new Limits(1_000, Duration.ofMinutes(10)));
+        DEFAULTS.put(USER_ROLES_REGION, new Limits(1_000, Duration.ofMinutes(10)));
+        DEFAULTS.put(STUDENTS_REGION, new Limits(10_000, Duration.ofMinutes(10)));
+        DEFAULTS.put(QUERY_RESULTS_REGION, new Limits(1_000, Duration.ofMinutes(5)));
+        DEFAULTS.put(UPDATE_TIMESTAMPS_REGION, new Limits(10_000, Duration.ZERO));
+    }
+    
+    public static Iterable<String> regionNames() {
+        return DEFAULTS.keySet();
+    }
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        // A private URI per application context, so test contexts in one JVM never share regions
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("playschool-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        
+        DEFAULTS.forEach((region, defaults) -> {
+            long maxSize = environment.getProperty("cache.regions." + region + ".max-size", Long.class, defaults.maxSize());
+            Duration ttl = environment.getProperty("cache.regions." + region + ".ttl", Duration.class, defaults.ttl());
+            
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            if (!ttl.isZero()) {
+                configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            }
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        });
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,93 @@
+package com.playschool.management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting, only active when datasource.replicas.urls lists at least one replica. The primary
+ * pool is still configured from spring.datasource.*; each replica gets its own read-only Hikari pool.
+ */
+@Configuration
+@Conditional(ReadReplicaConfig.ReplicasConfigured.class)
+public class ReadReplicaConfig {
+    
+    @Value("${datasource.replicas.urls}")
+    private List<String> replicaUrls;
+    
+    @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+    
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+    
+    @Value("${datasource.replicas.maximum-pool-size:5}")
+    private int replicaPoolSize;
+    
+    // Kept short so a dead replica costs a read little time before it falls back to the primary
+    @Value("${datasource.replicas.connection-timeout-ms:2000}")
+    private long replicaConnectionTimeoutMs;
+    
+    @Value("${datasource.replicas.health-check-interval-ms:5000}")
+    private long healthCheckIntervalMs;
+    
+    @Value("${datasource.replicas.read-your-writes-ms:5000}")
+    private long readYourWritesMs;
+    
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setConnectionTimeout(replicaConnectionTimeoutMs);
+            replica.setReadOnly(true);
+            // Start even when a replica is down; the health check brings it in once reachable
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas,
+                Duration.ofMillis(readYourWritesMs), Duration.ofMillis(healthCheckIntervalMs));
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+    
+    static class ReplicasConfigured implements Condition {
+        
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return StringUtils.hasText(context.getEnvironment().getProperty("datasource.replicas.urls"));
+        }
+    }
+}
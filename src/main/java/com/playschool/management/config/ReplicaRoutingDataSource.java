@@ -0,0 +1,223 @@
+package com.playschool.management.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to everything else.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy so the connection is fetched at the first statement,
+ * after the transaction's read-only flag is known. Replicas are picked round-robin among the ones that
+ * passed the last health check; when none is usable, or the current user committed a write within the
+ * read-your-writes window (replication may not have caught up yet), the primary serves the read. Only
+ * transactions that ran a statement other than a SELECT count as writes; a read-write transaction that
+ * only read does not pin its user to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    
+    // Connection and Statement methods whose first argument is SQL to run
+    private static final Set<String> SQL_METHODS = Set.of("prepareStatement", "prepareCall", "execute",
+            "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+    
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas,
+                                    Duration readYourWritesWindow, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return trackWrites(primary.getConnection(), currentUser());
+        }
+        Replica replica = chooseReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markDown(replica, e);
+            }
+        }
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+    
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+    
+    /**
+     * Replica for the current read-only transaction, or null when the primary has to serve it
+     */
+    private Replica chooseReplica() {
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return null;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Remember the user as a recent writer when the transaction commits, if the connection ran a
+     * statement that can write. Outside a transaction, or for anonymous callers, there is nothing to track.
+     */
+    private Connection trackWrites(Connection connection, String user) {
+        if (user == null || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        WriteTracker tracker = new WriteTracker(user);
+        TransactionSynchronizationManager.registerSynchronization(tracker);
+        return inspect(connection, Connection.class, tracker);
+    }
+    
+    /**
+     * Proxy that marks the tracker on any SQL passed to it that is not a SELECT, either when a statement
+     * is prepared or when a plain statement executes it. Plain statements are wrapped the same way.
+     */
+    private static <T> T inspect(T target, Class<T> type, WriteTracker tracker) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            if (SQL_METHODS.contains(method.getName()) && args[0] instanceof String sql && !isSelect(sql)) {
+                tracker.wrote = true;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return inspect(statement, Statement.class, tracker);
+            }
+            return result;
+        });
+        return type.cast(proxy);
+    }
+    
+    private static boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+    
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+    
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                logger.info("Replica {} is healthy again, routing reads to it", replica.dataSource.getPoolName());
+            } else if (!healthy && replica.healthy) {
+                logger.warn("Replica {} failed its health check, reads fall back to the primary",
+                        replica.dataSource.getPoolName());
+            }
+            replica.healthy = healthy;
+        }
+    }
+    
+    private void markDown(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            logger.warn("Replica {} refused a connection, reads fall back to the primary until it recovers: {}",
+                    replica.dataSource.getPoolName(), e.getMessage());
+        }
+        replica.healthy = false;
+    }
+    
+    private final class WriteTracker implements TransactionSynchronization {
+        
+        private final String user;
+        
+        // Only written and read on the transaction's thread
+        private boolean wrote;
+        
+        private WriteTracker(String user) {
+            this.user = user;
+        }
+        
+        @Override
+        public void afterCommit() {
+            if (wrote) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+    }
+    
+    private static final class Replica {
+        
+        private final HikariDataSource dataSource;
+        
+        // Optimistic until the first check, which runs right after startup
+        private volatile boolean healthy = true;
+        
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
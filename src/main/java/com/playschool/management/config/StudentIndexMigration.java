@@ -0,0 +1,115 @@
+package com.playschool.management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * PostgreSQL indexes the schema update cannot express through @Index (expressions, operator classes,
+ * partial indexes). CREATE INDEX CONCURRENTLY does not block writes but can take a long time on a
+ * populated table, so it runs on a background thread once the application is ready; queries fall back
+ * to the other indexes until it is done. Instances take turns on a session advisory lock, and an index
+ * left INVALID by an interrupted build is dropped and built again.
+ */
+@Component
+public class StudentIndexMigration {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentIndexMigration.class);
+    
+    // pg_advisory_lock key, held on the migration connection until every index is in place
+    private static final long LOCK_KEY = "student_index_migration".hashCode();
+    
+    private record IndexDefinition(String name, String definition) {}
+    
+    private static final List<IndexDefinition> INDEXES = List.of(
+            // text_pattern_ops lets LIKE 'prefix%' use the index whatever the collation (StudentSpecifications.namePrefix)
+            new IndexDefinition("idx_students_last_name_prefix", "ON students (lower(last_name) text_pattern_ops)"),
+            new IndexDefinition("idx_students_first_name_prefix", "ON students (lower(first_name) text_pattern_ops)"),
+            // Partial indexes over active rows only: nearly every read filters on is_active = true, and
+            // long-inactive rows move to students_archive anyway
+            new IndexDefinition("idx_students_roster_active", "ON students (last_name, first_name, id) WHERE is_active = true"),
+            new IndexDefinition("idx_students_dob_active", "ON students (date_of_birth) WHERE is_active = true"),
+            new IndexDefinition("idx_students_enrolled_active", "ON students (enrollment_date) WHERE is_active = true")
+    );
+    
+    private static final String VALIDITY_SQL =
+            "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+            + "WHERE c.relname = ? AND c.relnamespace = to_regnamespace(current_schema())";
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                migrate();
+            } catch (SQLException | RuntimeException e) {
+                logger.warn("Could not create the student query indexes; they are retried on the next start", e);
+            }
+        }, "student-index-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Create any missing index and rebuild invalid ones, waiting for another instance doing the same.
+     * Does nothing on databases other than PostgreSQL.
+     */
+    public void migrate() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            // CONCURRENTLY cannot run inside a transaction block
+            connection.setAutoCommit(true);
+            
+            try (PreparedStatement lock = connection.prepareStatement("SELECT pg_advisory_lock(?)")) {
+                lock.setLong(1, LOCK_KEY);
+                lock.execute();
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (IndexDefinition index : INDEXES) {
+                    Boolean valid = isValid(connection, index.name());
+                    if (Boolean.TRUE.equals(valid)) {
+                        continue;
+                    }
+                    if (valid != null) {
+                        logger.warn("Index {} is invalid, most likely from an interrupted build; rebuilding it", index.name());
+                        statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index.name());
+                    }
+                    long start = System.nanoTime();
+                    statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index.name() + " " + index.definition());
+                    logger.info("Created index {} in {} ms", index.name(), (System.nanoTime() - start) / 1_000_000);
+                }
+            } finally {
+                try (PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                    unlock.setLong(1, LOCK_KEY);
+                    unlock.execute();
+                }
+            }
+            logger.info("Student query indexes are in place");
+        }
+    }
+    
+    // Null when the index does not exist
+    private static Boolean isValid(Connection connection, String indexName) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(VALIDITY_SQL)) {
+            query.setString(1, indexName);
+            try (ResultSet rows = query.executeQuery()) {
+                return rows.next() ? rows.getBoolean(1) : null;
+            }
+        }
+    }
+}
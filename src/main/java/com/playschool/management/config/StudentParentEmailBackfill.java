@@ -0,0 +1,33 @@
+package com.playschool.management.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills parent_email_normalized for rows written before the column existed. New and updated rows get it
+ * from the entity callbacks, so after the first run this only ever touches rows imported out of band.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class StudentParentEmailBackfill implements CommandLineRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentParentEmailBackfill.class);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void run(String... args) {
+        int updated = jdbcTemplate.update("UPDATE students SET parent_email_normalized = LOWER(TRIM(parent_email)) "
+                + "WHERE parent_email_normalized IS NULL AND parent_email IS NOT NULL AND TRIM(parent_email) <> ''");
+        if (updated > 0) {
+            logger.info("Backfilled parent_email_normalized on {} students", updated);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.playschool.management.config;
+
+import com.playschool.management.entity.Student;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Students used to get IDENTITY ids. When the schema update adds students_seq to an existing
+ * PostgreSQL database the sequence starts at 1, so move it past the highest existing id (hot or
+ * archived) before any student is inserted. Instances starting together serialize on an advisory lock,
+ * and the check and setval are one statement, so the sequence only ever moves forward. Rows still being
+ * inserted by instances on the old IDENTITY mapping are not covered, so roll the first upgrade out on a
+ * single instance.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StudentSequenceInitializer implements CommandLineRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentSequenceInitializer.class);
+    
+    // pg_advisory_xact_lock key, released when the transaction ends
+    private static final long LOCK_KEY = "students_seq".hashCode();
+    
+    // With the pooled optimizer the next value is the top of the next block of ids
+    private static final String ADVANCE_SQL =
+            "SELECT setval('students_seq', m.max_id + ?, false) FROM ("
+            + "SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM students), "
+            + "(SELECT COALESCE(MAX(id), 0) FROM students_archive)) AS max_id) m "
+            + "WHERE (SELECT last_value FROM students_seq) <= m.max_id";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    @Transactional
+    public void run(String... args) throws Exception {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        
+        jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(?)", Integer.class, LOCK_KEY);
+        List<Long> moved = jdbcTemplate.queryForList(ADVANCE_SQL, Long.class, Student.ID_ALLOCATION_SIZE);
+        if (!moved.isEmpty()) {
+            logger.info("Moved students_seq to {} past the existing max id", moved.get(0));
+        }
+    }
+}
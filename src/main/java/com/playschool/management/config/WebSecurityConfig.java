@@ -2,6 +2,8 @@ package com.playschool.management.config;
 
 import java.util.Arrays;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -14,8 +16,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -24,6 +24,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.playschool.management.security.jwt.AuthEntryPointJwt;
 import com.playschool.management.security.jwt.AuthTokenFilter;
+import com.playschool.management.security.services.BestEffortUpgradeAuthenticationProvider;
+import com.playschool.management.security.services.BoundedPasswordEncoder;
 import com.playschool.management.security.services.UserDetailsServiceImpl;
 
 @Configuration
@@ -43,20 +45,37 @@ public class WebSecurityConfig {
     @Autowired
     private AuthTokenFilter authenticationJwtTokenFilter;
 
+    @Value("${password.hashing.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // 0 = one hashing thread per available CPU
+    @Value("${password.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${password.hashing.retry-after-seconds:2}")
+    private long hashingRetryAfterSeconds;
+
 
     @SuppressWarnings("deprecation")
     @Bean
     DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new BestEffortUpgradeAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hash on login when the stored BCrypt cost differs from password.hashing.bcrypt-strength,
+        // skipped when the hashing queue is full
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
 
-    @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(bcryptStrength, hashingThreads, hashingQueueCapacity,
+                hashingRetryAfterSeconds);
     }
 
     @Bean
@@ -74,7 +93,9 @@ public class WebSecurityConfig {
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> 
-                auth.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // Async dispatches (SSE and streamed exports) continue a request that was already authorized
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                    .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                     .requestMatchers("/").permitAll()
                     .requestMatchers("/api/auth/**").permitAll()
                     .requestMatchers("/api/test/**").permitAll()
@@ -106,6 +127,8 @@ public class WebSecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList(origins)); // Use patterns instead of origins
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(
+                "ETag", "Retry-After", "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L); // Cache preflight response for 1 hour
 
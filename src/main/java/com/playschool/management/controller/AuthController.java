@@ -6,6 +6,9 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,22 +19,30 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.playschool.management.dto.request.LoginRequest;
+import com.playschool.management.dto.request.RefreshTokenRequest;
 import com.playschool.management.dto.request.SignupRequest;
 import com.playschool.management.dto.response.JwtResponse;
 import com.playschool.management.dto.response.MessageResponse;
 import com.playschool.management.entity.Role;
 import com.playschool.management.entity.RoleName;
 import com.playschool.management.entity.User;
+import com.playschool.management.event.UserRolesChangedEvent;
 import com.playschool.management.repository.RoleRepository;
 import com.playschool.management.repository.UserRepository;
 import com.playschool.management.security.jwt.JwtUtils;
+import com.playschool.management.security.services.PasswordHashingRejectedException;
+import com.playschool.management.security.services.RefreshTokenService;
+import com.playschool.management.security.services.TokenRevocationList;
 import com.playschool.management.security.services.UserPrincipal;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.validation.Valid;
 
 @CrossOrigin(
@@ -57,30 +68,64 @@ public class AuthController {
     @Autowired
     PasswordEncoder encoder;
     
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    
     @Autowired
     JwtUtils jwtUtils;
     
+    @Autowired
+    RefreshTokenService refreshTokenService;
+    
+    @Autowired
+    TokenRevocationList tokenRevocationList;
+    
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        } catch (PasswordHashingRejectedException e) {
+            return hashingBusy(e);
+        }
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
-        
         UserPrincipal userDetails = (UserPrincipal) authentication.getPrincipal();
-        List<String> roles = userDetails.getAuthorities().stream()
-                .map(item -> item.getAuthority())
-                .collect(Collectors.toList());
         
-        return ResponseEntity.ok(new JwtResponse(jwt,
-                userDetails.getId(),
-                userDetails.getUsername(),
-                userDetails.getEmail(),
-                userDetails.getFirstName(),
-                userDetails.getLastName(),
-                roles));
+        return ResponseEntity.ok(tokenResponse(userDetails, refreshTokenService.issue(userDetails.getId())));
+    }
+    
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token; the old one stops working
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        return refreshTokenService.rotate(request.getRefreshToken())
+                .<ResponseEntity<?>>map(rotation -> ResponseEntity.ok(
+                        tokenResponse(rotation.getPrincipal(), rotation.getRefreshToken())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(new MessageResponse("Error: Refresh token is invalid or expired")));
+    }
+    
+    /**
+     * Revoke the bearer access token and, when given, the refresh token family it was issued with
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                    @RequestBody(required = false) RefreshTokenRequest request) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            Claims claims = jwtUtils.parseClaims(authorization.substring(7));
+            // Expired or invalid tokens are rejected anyway; tokens issued without a jti cannot be revoked
+            if (claims != null && claims.getId() != null) {
+                tokenRevocationList.revoke(claims.getId(), claims.getExpiration());
+            }
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.ok(new MessageResponse("Logged out successfully!"));
     }
     
     @PostMapping("/signup")
@@ -97,10 +142,17 @@ public class AuthController {
                     .body(new MessageResponse("Error: Email is already in use!"));
         }
         
+        String encodedPassword;
+        try {
+            encodedPassword = encoder.encode(signUpRequest.getPassword());
+        } catch (PasswordHashingRejectedException e) {
+            return hashingBusy(e);
+        }
+        
         // Create new user's account
         User user = new User(signUpRequest.getUsername(),
                            signUpRequest.getEmail(),
-                           encoder.encode(signUpRequest.getPassword()),
+                           encodedPassword,
                            signUpRequest.getFirstName(),
                            signUpRequest.getLastName());
         
@@ -142,6 +194,7 @@ public class AuthController {
         
         user.setRoles(roles);
         userRepository.save(user);
+        eventPublisher.publishEvent(UserRolesChangedEvent.registered(user.getId(), user.getRoles()));
         
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
@@ -177,6 +230,7 @@ public class AuthController {
             
             adminUser.setRoles(roles);
             userRepository.save(adminUser);
+            eventPublisher.publishEvent(UserRolesChangedEvent.registered(adminUser.getId(), adminUser.getRoles()));
             
             return ResponseEntity.ok(new MessageResponse("Admin user created successfully! Username: admin, Password: admin123"));
         } catch (Exception e) {
@@ -243,4 +297,28 @@ public class AuthController {
     public ResponseEntity<?> getServerTime() {
         return ResponseEntity.ok(new MessageResponse("Server time: " + java.time.LocalDateTime.now()));
     }
+    
+    // Password hashing is saturated: answer at once instead of queueing without bound
+    private ResponseEntity<?> hashingBusy(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new MessageResponse("Error: " + e.getMessage()));
+    }
+    
+    private JwtResponse tokenResponse(UserPrincipal principal, String refreshToken) {
+        List<String> roles = principal.getAuthorities().stream()
+                .map(item -> item.getAuthority())
+                .collect(Collectors.toList());
+        
+        JwtResponse response = new JwtResponse(jwtUtils.generateJwtToken(principal),
+                principal.getId(),
+                principal.getUsername(),
+                principal.getEmail(),
+                principal.getFirstName(),
+                principal.getLastName(),
+                roles);
+        response.setRefreshToken(refreshToken);
+        response.setExpiresIn(jwtUtils.getJwtExpirationMs() / 1000);
+        return response;
+    }
 }
@@ -0,0 +1,29 @@
+package com.playschool.management.controller;
+
+import com.playschool.management.dto.response.CacheStatsResponse;
+import com.playschool.management.service.CacheStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+    
+    @Autowired
+    private CacheStatsService cacheStatsService;
+    
+    /**
+     * Second-level and query cache hit/miss statistics per region
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getStats());
+    }
+}
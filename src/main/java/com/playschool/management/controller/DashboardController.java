@@ -0,0 +1,29 @@
+package com.playschool.management.controller;
+
+import com.playschool.management.dto.response.DashboardSummaryResponse;
+import com.playschool.management.service.DashboardAggregates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+    
+    @Autowired
+    private DashboardAggregates dashboardAggregates;
+    
+    /**
+     * Admin home page numbers, served from in-memory aggregates (no table scans per request)
+     */
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashboardSummaryResponse> getSummary() {
+        return ResponseEntity.ok(dashboardAggregates.getSummary());
+    }
+}
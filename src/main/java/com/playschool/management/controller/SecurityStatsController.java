@@ -0,0 +1,29 @@
+package com.playschool.management.controller;
+
+import com.playschool.management.dto.response.PasswordHashingStatsResponse;
+import com.playschool.management.security.services.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/security")
+public class SecurityStatsController {
+    
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+    
+    /**
+     * Password hashing pool: queue depth, rejections and hash latency
+     */
+    @GetMapping("/hashing/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PasswordHashingStatsResponse> getHashingStats() {
+        return ResponseEntity.ok(PasswordHashingStatsResponse.fromEncoder(passwordEncoder));
+    }
+}
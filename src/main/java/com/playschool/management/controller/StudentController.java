@@ -1,16 +1,48 @@
 package com.playschool.management.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.dto.request.BulkStatusRequest;
+import com.playschool.management.dto.request.StudentQueryRequest;
 import com.playschool.management.dto.request.StudentRegistrationRequest;
+import com.playschool.management.dto.response.BatchRegistrationResponse;
+import com.playschool.management.dto.response.BulkOperationResponse;
 import com.playschool.management.dto.response.MessageResponse;
+import com.playschool.management.dto.response.PageResponse;
 import com.playschool.management.dto.response.StudentResponse;
+import com.playschool.management.dto.response.StudentSuggestion;
 import com.playschool.management.entity.Student;
+import com.playschool.management.service.PreconditionFailedException;
+import com.playschool.management.service.StudentArchiveService;
+import com.playschool.management.service.StudentBulkStatusService;
+import com.playschool.management.service.StudentETags;
+import com.playschool.management.service.StudentEventStream;
+import com.playschool.management.service.StudentExportService;
+import com.playschool.management.service.StudentFieldPolicy;
+import com.playschool.management.service.StudentFieldSet;
+import com.playschool.management.service.StudentMergePatch;
 import com.playschool.management.service.StudentService;
+import com.playschool.management.service.StudentSuggestIndex;
+import com.playschool.management.service.StudentValidator;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -20,22 +52,133 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/students")
 public class StudentController {
     
+    private static final int PUBLIC_LIST_LIMIT = 10;
+    
     @Autowired
     private StudentService studentService;
     
+    @Autowired
+    private StudentExportService studentExportService;
+    
+    @Autowired
+    private StudentSuggestIndex studentSuggestIndex;
+    
+    @Autowired
+    private StudentFieldPolicy studentFieldPolicy;
+    
+    @Autowired
+    private StudentBulkStatusService studentBulkStatusService;
+    
+    @Autowired
+    private StudentArchiveService studentArchiveService;
+    
+    @Autowired
+    private StudentEventStream studentEventStream;
+    
+    @Value("${students.suggest.default-results:10}")
+    private int defaultSuggestResults;
+    
+    @Value("${students.suggest.max-results:25}")
+    private int maxSuggestResults;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private StudentValidator studentValidator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${students.batch.max-size:1000}")
+    private int maxBatchSize;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STAFF')")
-    public ResponseEntity<List<StudentResponse>> getAllStudents() {
-        List<Student> students = studentService.getAllActiveStudents();
-        List<StudentResponse> studentResponses = students.stream()
-                .map(StudentResponse::fromStudent)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(studentResponses);
+    public ResponseEntity<?> getAllStudents(@RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String view,
+                                            @RequestParam(required = false) String fields,
+                                            WebRequest webRequest) {
+        try {
+            StudentFieldSet fieldSet = studentFieldPolicy.resolve(fields, isSummaryView(view));
+            // Dashboards poll this: answer 304 from two cheap aggregates before touching any rows
+            String variant = cursor + "|" + limit + "|" + view + "|" + fieldSet;
+            if (webRequest.checkNotModified(studentService.getActiveStudentsETag(variant))) {
+                return null;
+            }
+            if (fieldSet != null) {
+                return ResponseEntity.ok(studentService.getActiveStudentFieldsPage(fieldSet, cursor, limit));
+            }
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(studentService.getActiveStudentSummariesPage(cursor, limit));
+            }
+            PageResponse<Student> page = studentService.getActiveStudentsPage(cursor, limit);
+            return ResponseEntity.ok(page.map(StudentResponse::fromStudent));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    // Roster download / nightly sync: rows are written as they are read, so memory stays flat
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(required = false) String format) {
+        // The return type must stay ResponseEntity<StreamingResponseBody> for Spring MVC to stream it
+        StudentExportService.Format exportFormat;
+        try {
+            exportFormat = StudentExportService.Format.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        
+        StreamingResponseBody body = out -> studentExportService.exportActiveStudents(out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"students." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+    
+    // Dashboard change feed (created/updated/deactivated) instead of polling the list and count endpoints.
+    // EventSource reconnects send Last-Event-ID and get the events they missed replayed.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STAFF')")
+    public ResponseEntity<SseEmitter> streamStudents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter;
+        try {
+            emitter = studentEventStream.subscribe(lastEventId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+        // Stop reverse proxies from buffering the stream
+        return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STAFF')")
-    public ResponseEntity<StudentResponse> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<?> getStudentById(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                            WebRequest webRequest) {
+        try {
+            StudentFieldSet fieldSet = studentFieldPolicy.resolve(fields, false);
+            Optional<String> etag = studentService.getStudentETag(id, fieldSet != null ? fieldSet.toString() : null);
+            if (etag.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (webRequest.checkNotModified(etag.get())) {
+                return null;
+            }
+            if (fieldSet != null) {
+                return ResponseEntity.of(studentService.getStudentFieldsById(id, fieldSet));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse("Error: " + e.getMessage()));
+        }
         Optional<Student> student = studentService.getStudentById(id);
         if (student.isPresent()) {
             return ResponseEntity.ok(StudentResponse.fromStudent(student.get()));
@@ -74,9 +217,74 @@ public class StudentController {
         }
     }
     
+    // Enrolment-season import: every entry is validated, the valid ones are inserted with JDBC batching
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<?> registerStudentsBatch(@RequestBody List<StudentRegistrationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Validation Error: batch is empty"));
+        }
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body(
+                    new MessageResponse("Validation Error: batch exceeds the maximum of " + maxBatchSize + " students"));
+        }
+        
+        long started = System.currentTimeMillis();
+        BatchRegistrationResponse response = new BatchRegistrationResponse();
+        response.setTotal(requests.size());
+        
+        List<Student> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            StudentRegistrationRequest request = requests.get(i);
+            List<String> errors = new ArrayList<>();
+            if (request == null) {
+                errors.add("Entry is empty");
+            } else {
+                for (ConstraintViolation<StudentRegistrationRequest> violation : validator.validate(request)) {
+                    errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+            }
+            
+            Student student = null;
+            if (errors.isEmpty()) {
+                student = request.toStudent();
+                try {
+                    studentValidator.validate(student);
+                } catch (IllegalArgumentException e) {
+                    errors.add(e.getMessage());
+                }
+            }
+            
+            if (errors.isEmpty()) {
+                accepted.add(student);
+                acceptedIndexes.add(i);
+            } else {
+                response.getResults().add(BatchRegistrationResponse.ItemResult.rejected(i, errors));
+            }
+        }
+        
+        try {
+            List<Student> saved = studentService.registerStudentsBatch(accepted);
+            for (int i = 0; i < saved.size(); i++) {
+                response.getResults().add(
+                        BatchRegistrationResponse.ItemResult.registered(acceptedIndexes.get(i), saved.get(i).getId()));
+            }
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Registration Error: " + e.getMessage()));
+        }
+        
+        response.getResults().sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        response.setRegistered(accepted.size());
+        response.setFailed(requests.size() - accepted.size());
+        response.setElapsedMs(System.currentTimeMillis() - started);
+        return ResponseEntity.ok(response);
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
-    public ResponseEntity<?> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentRegistrationRequest request) {
+    public ResponseEntity<?> updateStudent(@PathVariable Long id, @Valid @RequestBody StudentRegistrationRequest request,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Convert DTO to Entity
             Student studentDetails = new Student();
@@ -93,13 +301,50 @@ public class StudentController {
             studentDetails.setMedicalInfo(request.getMedicalInfo());
             studentDetails.setAllergies(request.getAllergies());
             
-            Student updatedStudent = studentService.updateStudent(id, studentDetails);
-            return ResponseEntity.ok(StudentResponse.fromStudent(updatedStudent));
+            Student updatedStudent = studentService.updateStudent(id, studentDetails, ifMatch);
+            return ResponseEntity.ok()
+                    .eTag(StudentETags.forStudent(updatedStudent.getId(), updatedStudent.getVersion(), null))
+                    .body(StudentResponse.fromStudent(updatedStudent));
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body(new MessageResponse("Update Error: " + e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("Update Error: Student " + id + " was modified by another request"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Update Error: " + e.getMessage()));
         }
     }
     
+    // JSON Merge Patch (RFC 7396). Send the ETag from GET as If-Match: single contact/care field changes
+    // then become one conditional UPDATE; any version conflict returns 409. Success returns 204 + new ETag.
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<?> patchStudent(@PathVariable Long id, @RequestBody JsonNode document,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            StudentMergePatch patch = StudentMergePatch.parse(document, objectMapper, validator);
+            Long expectedVersion = null;
+            if (ifMatch != null && !ifMatch.trim().equals("*")) {
+                expectedVersion = StudentETags.versionOf(ifMatch, id);
+                if (expectedVersion == null) {
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(new MessageResponse("Update Error: If-Match is not a current ETag of this student"));
+                }
+            }
+            Optional<Long> version = studentService.patchStudent(id, patch, expectedVersion);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.noContent().eTag(StudentETags.forStudent(id, version.get(), null)).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Validation Error: " + e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("Update Error: Student " + id + " was modified by another request"));
+        }
+    }
+    
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteStudent(@PathVariable Long id) {
@@ -122,24 +367,121 @@ public class StudentController {
         }
     }
     
+    // End-of-year lifecycle changes: ids and/or criteria, applied as chunked set-based UPDATEs
+    @PostMapping("/bulk/deactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkDeactivateStudents(@RequestBody BulkStatusRequest request) {
+        try {
+            return ResponseEntity.ok(studentBulkStatusService.deactivate(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Bulk Error: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/bulk/reactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkReactivateStudents(@RequestBody BulkStatusRequest request) {
+        try {
+            return ResponseEntity.ok(studentBulkStatusService.reactivate(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Bulk Error: " + e.getMessage()));
+        }
+    }
+    
+    // Runs the nightly age-out job on demand
+    @PostMapping("/bulk/age-out")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> ageOutStudents() {
+        return ResponseEntity.ok(studentBulkStatusService.ageOut());
+    }
+    
+    // Runs the nightly archive job on demand
+    @PostMapping("/bulk/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOperationResponse> archiveStudents() {
+        return ResponseEntity.ok(studentArchiveService.archive());
+    }
+    
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STAFF')")
-    public ResponseEntity<List<StudentResponse>> searchStudents(@RequestParam String name) {
-        List<Student> students = studentService.searchStudentsByName(name);
-        List<StudentResponse> studentResponses = students.stream()
-                .map(StudentResponse::fromStudent)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(studentResponses);
+    public ResponseEntity<?> searchStudents(@RequestParam String name,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String view,
+                                            @RequestParam(required = false) String fields) {
+        try {
+            StudentFieldSet fieldSet = studentFieldPolicy.resolve(fields, isSummaryView(view));
+            if (fieldSet != null) {
+                return ResponseEntity.ok(studentService.searchStudentFieldsByNamePage(name, fieldSet, cursor, limit));
+            }
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(studentService.searchStudentSummariesByNamePage(name, cursor, limit));
+            }
+            PageResponse<Student> page = studentService.searchStudentsByNamePage(name, cursor, limit);
+            return ResponseEntity.ok(page.map(StudentResponse::fromStudent));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    // Front desk type-ahead over student and parent names; served entirely from memory
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STAFF')")
+    public ResponseEntity<List<StudentSuggestion>> suggestStudents(@RequestParam String prefix,
+                                                                   @RequestParam(required = false) Integer limit) {
+        int size = (limit == null || limit < 1) ? defaultSuggestResults : Math.min(limit, maxSuggestResults);
+        return ResponseEntity.ok(studentSuggestIndex.suggest(prefix, size));
+    }
+    
+    // Combinable filters (see StudentQueryRequest), keyset-paged in roster order like GET /api/students
+    @GetMapping("/query")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STAFF')")
+    public ResponseEntity<?> queryStudents(StudentQueryRequest query,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit,
+                                           @RequestParam(required = false) String view,
+                                           @RequestParam(required = false) String fields) {
+        try {
+            StudentFieldSet fieldSet = studentFieldPolicy.resolve(fields, isSummaryView(view));
+            if (fieldSet != null) {
+                return ResponseEntity.ok(studentService.queryStudentFieldsPage(query, fieldSet, cursor, limit));
+            }
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(studentService.queryStudentSummariesPage(query, cursor, limit));
+            }
+            PageResponse<Student> page = studentService.queryStudentsPage(query, cursor, limit);
+            return ResponseEntity.ok(page.map(StudentResponse::fromStudent));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse("Error: " + e.getMessage()));
+        }
     }
     
     @GetMapping("/parent/{email}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STAFF') or hasRole('PARENT')")
-    public ResponseEntity<List<StudentResponse>> getStudentsByParentEmail(@PathVariable String email) {
-        List<Student> students = studentService.getStudentsByParentEmail(email);
-        List<StudentResponse> studentResponses = students.stream()
-                .map(StudentResponse::fromStudent)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(studentResponses);
+    public ResponseEntity<?> getStudentsByParentEmail(@PathVariable String email,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String view,
+                                                      @RequestParam(required = false) String fields) {
+        try {
+            StudentFieldSet fieldSet = studentFieldPolicy.resolve(fields, isSummaryView(view));
+            if (fieldSet != null) {
+                return ResponseEntity.ok(studentService.getStudentFieldsByParentEmailPage(email, fieldSet, cursor, limit));
+            }
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(studentService.getStudentSummariesByParentEmailPage(email, cursor, limit));
+            }
+            PageResponse<Student> page = studentService.getStudentsByParentEmailPage(email, cursor, limit);
+            return ResponseEntity.ok(page.map(StudentResponse::fromStudent));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse("Error: " + e.getMessage()));
+        }
     }
     
     @GetMapping("/count")
@@ -163,10 +505,24 @@ public class StudentController {
     
     // Public endpoint to get limited student list for development
     @GetMapping("/public/list")
-    public ResponseEntity<List<StudentResponse>> getPublicStudentList() {
-        List<Student> students = studentService.getAllActiveStudents();
-        List<StudentResponse> studentResponses = students.stream()
-                .limit(10) // Limit to first 10 students for security
+    public ResponseEntity<?> getPublicStudentList(@RequestParam(required = false) String view,
+                                                  @RequestParam(required = false) String fields) {
+        // Only the first page of 10 students is exposed for security, so no cursor is accepted here
+        try {
+            StudentFieldSet fieldSet = studentFieldPolicy.resolve(fields, isSummaryView(view));
+            if (fieldSet != null) {
+                return ResponseEntity.ok(studentService.getActiveStudentFieldsPage(fieldSet, null, PUBLIC_LIST_LIMIT).getItems());
+            }
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(studentService.getActiveStudentSummariesPage(null, PUBLIC_LIST_LIMIT).getItems());
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new MessageResponse("Error: " + e.getMessage()));
+        }
+        PageResponse<Student> page = studentService.getActiveStudentsPage(null, PUBLIC_LIST_LIMIT);
+        List<StudentResponse> studentResponses = page.getItems().stream()
                 .map(StudentResponse::fromStudent)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(studentResponses);
@@ -202,4 +558,17 @@ public class StudentController {
             return ResponseEntity.badRequest().body(new MessageResponse("Registration Error: " + e.getMessage()));
         }
     }
+    
+    /**
+     * "full" (the default) returns every column; "summary" returns the roster projection only
+     */
+    private static boolean isSummaryView(String view) {
+        if (view == null || view.isBlank() || view.equalsIgnoreCase("full")) {
+            return false;
+        }
+        if (view.equalsIgnoreCase("summary")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported view: " + view);
+    }
 }
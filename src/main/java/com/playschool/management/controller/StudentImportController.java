@@ -0,0 +1,74 @@
+package com.playschool.management.controller;
+
+import com.playschool.management.dto.response.ImportJobResponse;
+import com.playschool.management.dto.response.MessageResponse;
+import com.playschool.management.entity.ImportJob;
+import com.playschool.management.entity.ImportJobError;
+import com.playschool.management.repository.ImportJobErrorRepository;
+import com.playschool.management.service.StudentImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/students/import")
+public class StudentImportController {
+    
+    private static final int MAX_ERRORS_PER_PAGE = 500;
+    
+    @Autowired
+    private StudentImportService studentImportService;
+    
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+    
+    /**
+     * Upload a student CSV; the import runs in the background and is polled by job id
+     */
+    @PostMapping(consumes = "multipart/form-data")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<?> startImport(@RequestParam("file") MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Import Error: file is empty"));
+        }
+        try {
+            ImportJob job = studentImportService.submit(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ImportJobResponse.fromJob(job));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Import Error: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Job status and progress
+     */
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<?> getImportStatus(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(ImportJobResponse.fromJob(studentImportService.getJob(jobId)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Rejected rows in row order; pass the last rowNumber seen as {@code after} to fetch the next page
+     */
+    @GetMapping("/{jobId}/errors")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    public ResponseEntity<List<ImportJobError>> getImportErrors(@PathVariable String jobId,
+                                                                @RequestParam(defaultValue = "0") long after,
+                                                                @RequestParam(defaultValue = "100") int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_ERRORS_PER_PAGE));
+        return ResponseEntity.ok(importJobErrorRepository
+                .findByJobIdAndRowNumberGreaterThanOrderByRowNumber(jobId, after, Limit.of(size)));
+    }
+}
@@ -60,6 +60,34 @@ public class UserRoleController {
         }
     }
     
+    /**
+     * Deactivate a user account; its tokens stop working at once
+     */
+    @PostMapping("/{userId}/deactivate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deactivateUser(@PathVariable Long userId) {
+        try {
+            userRoleService.setUserActive(userId, false);
+            return ResponseEntity.ok(new MessageResponse("User deactivated successfully!"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Reactivate a deactivated user account
+     */
+    @PostMapping("/{userId}/activate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> activateUser(@PathVariable Long userId) {
+        try {
+            userRoleService.setUserActive(userId, true);
+            return ResponseEntity.ok(new MessageResponse("User activated successfully!"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Get all roles for a user
      */
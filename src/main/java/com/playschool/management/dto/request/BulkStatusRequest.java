@@ -0,0 +1,39 @@
+package com.playschool.management.dto.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Selects students for a bulk status change. Filters combine with AND; at least one must be given.
+ */
+public class BulkStatusRequest {
+    
+    private List<Long> ids;
+    
+    private LocalDate dateOfBirthBefore;
+    
+    private LocalDate enrollmentDateBefore;
+    
+    // Constructors
+    public BulkStatusRequest() {}
+    
+    public BulkStatusRequest(List<Long> ids, LocalDate dateOfBirthBefore, LocalDate enrollmentDateBefore) {
+        this.ids = ids;
+        this.dateOfBirthBefore = dateOfBirthBefore;
+        this.enrollmentDateBefore = enrollmentDateBefore;
+    }
+    
+    public boolean hasFilter() {
+        return (ids != null && !ids.isEmpty()) || dateOfBirthBefore != null || enrollmentDateBefore != null;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+    
+    public LocalDate getDateOfBirthBefore() { return dateOfBirthBefore; }
+    public void setDateOfBirthBefore(LocalDate dateOfBirthBefore) { this.dateOfBirthBefore = dateOfBirthBefore; }
+    
+    public LocalDate getEnrollmentDateBefore() { return enrollmentDateBefore; }
+    public void setEnrollmentDateBefore(LocalDate enrollmentDateBefore) { this.enrollmentDateBefore = enrollmentDateBefore; }
+}
@@ -0,0 +1,60 @@
+package com.playschool.management.dto.request;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Query-string filters for GET /api/students/query. Every filter is optional and they combine with AND;
+ * active defaults to true, like the other roster endpoints.
+ */
+public class StudentQueryRequest {
+    
+    // Age in whole years as of this calendar year, the same age StudentSummaryResponse reports
+    private Integer minAge;
+    
+    private Integer maxAge;
+    
+    private String gender;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate enrolledFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate enrolledTo;
+    
+    private Boolean active;
+    
+    private Boolean hasAllergies;
+    
+    // Case-insensitive prefix of the first or last name
+    private String namePrefix;
+    
+    // Constructors
+    public StudentQueryRequest() {}
+    
+    // Getters and Setters
+    public Integer getMinAge() { return minAge; }
+    public void setMinAge(Integer minAge) { this.minAge = minAge; }
+    
+    public Integer getMaxAge() { return maxAge; }
+    public void setMaxAge(Integer maxAge) { this.maxAge = maxAge; }
+    
+    public String getGender() { return gender; }
+    public void setGender(String gender) { this.gender = gender; }
+    
+    public LocalDate getEnrolledFrom() { return enrolledFrom; }
+    public void setEnrolledFrom(LocalDate enrolledFrom) { this.enrolledFrom = enrolledFrom; }
+    
+    public LocalDate getEnrolledTo() { return enrolledTo; }
+    public void setEnrolledTo(LocalDate enrolledTo) { this.enrolledTo = enrolledTo; }
+    
+    public Boolean getActive() { return active; }
+    public void setActive(Boolean active) { this.active = active; }
+    
+    public Boolean getHasAllergies() { return hasAllergies; }
+    public void setHasAllergies(Boolean hasAllergies) { this.hasAllergies = hasAllergies; }
+    
+    public String getNamePrefix() { return namePrefix; }
+    public void setNamePrefix(String namePrefix) { this.namePrefix = namePrefix; }
+}
@@ -1,5 +1,6 @@
 package com.playschool.management.dto.request;
 
+import com.playschool.management.entity.Student;
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
 
@@ -58,6 +59,25 @@ public class StudentRegistrationRequest {
         this.dateOfBirth = dateOfBirth;
     }
     
+    // Helper method to build a new Student entity from this request
+    public Student toStudent() {
+        Student student = new Student();
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        student.setDateOfBirth(dateOfBirth);
+        student.setGender(gender);
+        student.setAddress(address);
+        student.setParentName(parentName);
+        student.setParentPhone(parentPhone);
+        student.setParentEmail(parentEmail);
+        student.setEmergencyContact(emergencyContact);
+        student.setEmergencyPhone(emergencyPhone);
+        student.setMedicalInfo(medicalInfo);
+        student.setAllergies(allergies);
+        student.setEnrollmentDate(enrollmentDate);
+        return student;
+    }
+    
     // Getters and Setters
     public String getFirstName() { return firstName; }
     public void setFirstName(String firstName) { this.firstName = firstName; }
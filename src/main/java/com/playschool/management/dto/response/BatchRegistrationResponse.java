@@ -0,0 +1,60 @@
+package com.playschool.management.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchRegistrationResponse {
+    
+    private int total;
+    private int registered;
+    private int failed;
+    private long elapsedMs;
+    private List<ItemResult> results = new ArrayList<>();
+    
+    public static class ItemResult {
+        
+        private int index;
+        private String status;
+        private Long id;
+        private List<String> errors;
+        
+        public ItemResult(int index, String status, Long id, List<String> errors) {
+            this.index = index;
+            this.status = status;
+            this.id = id;
+            this.errors = errors;
+        }
+        
+        public static ItemResult registered(int index, Long id) {
+            return new ItemResult(index, "REGISTERED", id, List.of());
+        }
+        
+        public static ItemResult rejected(int index, List<String> errors) {
+            return new ItemResult(index, "REJECTED", null, errors);
+        }
+        
+        public int getIndex() { return index; }
+        public String getStatus() { return status; }
+        public Long getId() { return id; }
+        public List<String> getErrors() { return errors; }
+    }
+    
+    // Constructors
+    public BatchRegistrationResponse() {}
+    
+    // Getters and Setters
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    
+    public int getRegistered() { return registered; }
+    public void setRegistered(int registered) { this.registered = registered; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+    
+    public List<ItemResult> getResults() { return results; }
+    public void setResults(List<ItemResult> results) { this.results = results; }
+}
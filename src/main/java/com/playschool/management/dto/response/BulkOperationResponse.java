@@ -0,0 +1,33 @@
+package com.playschool.management.dto.response;
+
+public class BulkOperationResponse {
+    
+    private String operation;
+    private long affected;
+    private int chunks;
+    private long elapsedMs;
+    
+    // Constructors
+    public BulkOperationResponse() {}
+    
+    public BulkOperationResponse(String operation, long affected, int chunks, long elapsedMs) {
+        this.operation = operation;
+        this.affected = affected;
+        this.chunks = chunks;
+        this.elapsedMs = elapsedMs;
+    }
+    
+    // Getters and Setters
+    public String getOperation() { return operation; }
+    public void setOperation(String operation) { this.operation = operation; }
+    
+    // Rows whose status actually changed (already deactivated/active rows are not counted)
+    public long getAffected() { return affected; }
+    public void setAffected(long affected) { this.affected = affected; }
+    
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+    
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+}
@@ -0,0 +1,112 @@
+package com.playschool.management.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CacheStatsResponse {
+    
+    private boolean statisticsEnabled;
+    private long secondLevelCacheHits;
+    private long secondLevelCacheMisses;
+    private long secondLevelCachePuts;
+    private long queryCacheHits;
+    private long queryCacheMisses;
+    private long queryCachePuts;
+    private List<RegionStats> regions = new ArrayList<>();
+    private PrincipalCacheStats principalCache;
+    
+    public static class RegionStats {
+        
+        private String region;
+        private long hits;
+        private long misses;
+        private long puts;
+        private long size;
+        
+        public RegionStats(String region, long hits, long misses, long puts, long size) {
+            this.region = region;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.size = size;
+        }
+        
+        public String getRegion() { return region; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getPuts() { return puts; }
+        
+        // Estimated number of entries currently held
+        public long getSize() { return size; }
+        
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+    
+    public static class PrincipalCacheStats {
+        
+        private long hits;
+        private long misses;
+        private long loads;
+        private long loadFailures;
+        private double averageLoadMillis;
+        private long evictions;
+        private long size;
+        
+        public PrincipalCacheStats(long hits, long misses, long loads, long loadFailures, double averageLoadMillis,
+                                   long evictions, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.loads = loads;
+            this.loadFailures = loadFailures;
+            this.averageLoadMillis = averageLoadMillis;
+            this.evictions = evictions;
+            this.size = size;
+        }
+        
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        
+        // Loads include background refreshes; failures count users that were not found
+        public long getLoads() { return loads; }
+        public long getLoadFailures() { return loadFailures; }
+        public double getAverageLoadMillis() { return averageLoadMillis; }
+        public long getEvictions() { return evictions; }
+        public long getSize() { return size; }
+        
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+    
+    // Getters and Setters
+    public boolean isStatisticsEnabled() { return statisticsEnabled; }
+    public void setStatisticsEnabled(boolean statisticsEnabled) { this.statisticsEnabled = statisticsEnabled; }
+    
+    public long getSecondLevelCacheHits() { return secondLevelCacheHits; }
+    public void setSecondLevelCacheHits(long secondLevelCacheHits) { this.secondLevelCacheHits = secondLevelCacheHits; }
+    
+    public long getSecondLevelCacheMisses() { return secondLevelCacheMisses; }
+    public void setSecondLevelCacheMisses(long secondLevelCacheMisses) { this.secondLevelCacheMisses = secondLevelCacheMisses; }
+    
+    public long getSecondLevelCachePuts() { return secondLevelCachePuts; }
+    public void setSecondLevelCachePuts(long secondLevelCachePuts) { this.secondLevelCachePuts = secondLevelCachePuts; }
+    
+    public long getQueryCacheHits() { return queryCacheHits; }
+    public void setQueryCacheHits(long queryCacheHits) { this.queryCacheHits = queryCacheHits; }
+    
+    public long getQueryCacheMisses() { return queryCacheMisses; }
+    public void setQueryCacheMisses(long queryCacheMisses) { this.queryCacheMisses = queryCacheMisses; }
+    
+    public long getQueryCachePuts() { return queryCachePuts; }
+    public void setQueryCachePuts(long queryCachePuts) { this.queryCachePuts = queryCachePuts; }
+    
+    public List<RegionStats> getRegions() { return regions; }
+    public void setRegions(List<RegionStats> regions) { this.regions = regions; }
+    
+    public PrincipalCacheStats getPrincipalCache() { return principalCache; }
+    public void setPrincipalCache(PrincipalCacheStats principalCache) { this.principalCache = principalCache; }
+}
@@ -0,0 +1,51 @@
+package com.playschool.management.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class DashboardSummaryResponse {
+    
+    private long activeStudents;
+    // Includes archived students
+    private long inactiveStudents;
+    private long archivedStudents;
+    // Age band -> gender -> active students
+    private Map<String, Map<String, Long>> activeStudentsByAgeBandAndGender;
+    // yyyy-MM -> students enrolled that month
+    private Map<String, Long> enrollmentsByMonth;
+    private Map<String, Long> usersByRole;
+    private long studentsRegisteredToday;
+    private long usersRegisteredToday;
+    private LocalDateTime reconciledAt;
+    
+    // Getters and Setters
+    public long getActiveStudents() { return activeStudents; }
+    public void setActiveStudents(long activeStudents) { this.activeStudents = activeStudents; }
+    
+    public long getInactiveStudents() { return inactiveStudents; }
+    public void setInactiveStudents(long inactiveStudents) { this.inactiveStudents = inactiveStudents; }
+    
+    public long getArchivedStudents() { return archivedStudents; }
+    public void setArchivedStudents(long archivedStudents) { this.archivedStudents = archivedStudents; }
+    
+    public Map<String, Map<String, Long>> getActiveStudentsByAgeBandAndGender() { return activeStudentsByAgeBandAndGender; }
+    public void setActiveStudentsByAgeBandAndGender(Map<String, Map<String, Long>> activeStudentsByAgeBandAndGender) {
+        this.activeStudentsByAgeBandAndGender = activeStudentsByAgeBandAndGender;
+    }
+    
+    public Map<String, Long> getEnrollmentsByMonth() { return enrollmentsByMonth; }
+    public void setEnrollmentsByMonth(Map<String, Long> enrollmentsByMonth) { this.enrollmentsByMonth = enrollmentsByMonth; }
+    
+    public Map<String, Long> getUsersByRole() { return usersByRole; }
+    public void setUsersByRole(Map<String, Long> usersByRole) { this.usersByRole = usersByRole; }
+    
+    public long getStudentsRegisteredToday() { return studentsRegisteredToday; }
+    public void setStudentsRegisteredToday(long studentsRegisteredToday) { this.studentsRegisteredToday = studentsRegisteredToday; }
+    
+    public long getUsersRegisteredToday() { return usersRegisteredToday; }
+    public void setUsersRegisteredToday(long usersRegisteredToday) { this.usersRegisteredToday = usersRegisteredToday; }
+    
+    // When the aggregates were last rebuilt from the database
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+}
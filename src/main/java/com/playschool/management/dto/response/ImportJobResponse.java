@@ -0,0 +1,76 @@
+package com.playschool.management.dto.response;
+
+import com.playschool.management.entity.ImportJob;
+import java.time.LocalDateTime;
+
+public class ImportJobResponse {
+    
+    private String id;
+    private String status;
+    private String fileName;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private int progressPercent;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    
+    // Constructors
+    public ImportJobResponse() {}
+    
+    public ImportJobResponse(ImportJob job) {
+        this.id = job.getId();
+        this.status = job.getStatus().name();
+        this.fileName = job.getFileName();
+        this.processedRows = job.getProcessedRows();
+        this.importedRows = job.getImportedRows();
+        this.failedRows = job.getFailedRows();
+        // Row count is unknown until the end, so progress is measured in bytes of the stored upload
+        this.progressPercent = job.getFileSize() == 0 ? 100 : (int) (job.getBytesRead() * 100 / job.getFileSize());
+        this.errorMessage = job.getErrorMessage();
+        this.createdAt = job.getCreatedAt();
+        this.updatedAt = job.getUpdatedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+    
+    // Helper method to convert ImportJob entity to ImportJobResponse
+    public static ImportJobResponse fromJob(ImportJob job) {
+        return new ImportJobResponse(job);
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    
+    public long getProcessedRows() { return processedRows; }
+    public void setProcessedRows(long processedRows) { this.processedRows = processedRows; }
+    
+    public long getImportedRows() { return importedRows; }
+    public void setImportedRows(long importedRows) { this.importedRows = importedRows; }
+    
+    public long getFailedRows() { return failedRows; }
+    public void setFailedRows(long failedRows) { this.failedRows = failedRows; }
+    
+    public int getProgressPercent() { return progressPercent; }
+    public void setProgressPercent(int progressPercent) { this.progressPercent = progressPercent; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
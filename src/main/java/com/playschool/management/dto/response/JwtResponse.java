@@ -12,6 +12,8 @@ public class JwtResponse {
     private String firstName;
     private String lastName;
     private List<String> roles;
+    private String refreshToken;
+    private long expiresIn;
     
     // Constructors
     public JwtResponse(String accessToken, Long id, String username, String email, 
@@ -49,4 +51,12 @@ public class JwtResponse {
     
     public List<String> getRoles() { return roles; }
     public void setRoles(List<String> roles) { this.roles = roles; }
+    
+    // Opaque, single use: exchange it at /api/auth/refresh for a new access token and refresh token
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+    
+    // Access token lifetime in seconds
+    public long getExpiresIn() { return expiresIn; }
+    public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
 }
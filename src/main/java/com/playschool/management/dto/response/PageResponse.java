@@ -0,0 +1,40 @@
+package com.playschool.management.dto.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class PageResponse<T> {
+    
+    private List<T> items;
+    private String next;
+    private int limit;
+    
+    // Constructors
+    public PageResponse() {}
+    
+    public PageResponse(List<T> items, String next, int limit) {
+        this.items = items;
+        this.next = next;
+        this.limit = limit;
+    }
+    
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    
+    // Opaque cursor for the following page, null on the last page
+    public String getNext() { return next; }
+    public void setNext(String next) { this.next = next; }
+    
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+    
+    public <R> PageResponse<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = items.stream().<R>map(mapper).toList();
+        return new PageResponse<>(mapped, next, limit);
+    }
+    
+    public boolean isHasMore() {
+        return next != null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.playschool.management.dto.response;
+
+import com.playschool.management.security.services.BoundedPasswordEncoder;
+
+public class PasswordHashingStatsResponse {
+    
+    private int strength;
+    private int poolSize;
+    private int activeCount;
+    private int queueDepth;
+    private int queueCapacity;
+    private long hashCount;
+    private long rejectedCount;
+    private double averageHashMillis;
+    private double averageWaitMillis;
+    
+    // Constructors
+    public PasswordHashingStatsResponse() {}
+    
+    public static PasswordHashingStatsResponse fromEncoder(BoundedPasswordEncoder encoder) {
+        PasswordHashingStatsResponse response = new PasswordHashingStatsResponse();
+        response.setStrength(encoder.getStrength());
+        response.setPoolSize(encoder.getPoolSize());
+        response.setActiveCount(encoder.getActiveCount());
+        response.setQueueDepth(encoder.getQueueDepth());
+        response.setQueueCapacity(encoder.getQueueCapacity());
+        response.setHashCount(encoder.getHashCount());
+        response.setRejectedCount(encoder.getRejectedCount());
+        response.setAverageHashMillis(encoder.getAverageHashMillis());
+        response.setAverageWaitMillis(encoder.getAverageWaitMillis());
+        return response;
+    }
+    
+    // Getters and Setters
+    public int getStrength() { return strength; }
+    public void setStrength(int strength) { this.strength = strength; }
+    
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+    
+    public int getActiveCount() { return activeCount; }
+    public void setActiveCount(int activeCount) { this.activeCount = activeCount; }
+    
+    public int getQueueDepth() { return queueDepth; }
+    public void setQueueDepth(int queueDepth) { this.queueDepth = queueDepth; }
+    
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    
+    // Completed encode and matches calls, including re-hashes on login
+    public long getHashCount() { return hashCount; }
+    public void setHashCount(long hashCount) { this.hashCount = hashCount; }
+    
+    // Calls answered with 503 because the queue was full
+    public long getRejectedCount() { return rejectedCount; }
+    public void setRejectedCount(long rejectedCount) { this.rejectedCount = rejectedCount; }
+    
+    public double getAverageHashMillis() { return averageHashMillis; }
+    public void setAverageHashMillis(double averageHashMillis) { this.averageHashMillis = averageHashMillis; }
+    
+    public double getAverageWaitMillis() { return averageWaitMillis; }
+    public void setAverageWaitMillis(double averageWaitMillis) { this.averageWaitMillis = averageWaitMillis; }
+}
@@ -0,0 +1,22 @@
+package com.playschool.management.dto.response;
+
+public class StudentSuggestion {
+    
+    private Long id;
+    private String displayName;
+    
+    // Constructors
+    public StudentSuggestion() {}
+    
+    public StudentSuggestion(Long id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getDisplayName() { return displayName; }
+    public void setDisplayName(String displayName) { this.displayName = displayName; }
+}
@@ -0,0 +1,74 @@
+package com.playschool.management.dto.response;
+
+import com.playschool.management.entity.Student;
+
+import java.time.LocalDate;
+
+/**
+ * Roster/search view of a student. Built directly by JPQL constructor expressions in
+ * StudentRepository, so rows are never managed entities and the large text columns are never read.
+ */
+public class StudentSummaryResponse {
+    
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private LocalDate dateOfBirth;
+    private String gender;
+    private String parentName;
+    private Boolean isActive;
+    
+    // Constructors
+    public StudentSummaryResponse() {}
+    
+    public StudentSummaryResponse(Long id, String firstName, String lastName, LocalDate dateOfBirth,
+                                  String gender, String parentName, Boolean isActive) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.dateOfBirth = dateOfBirth;
+        this.gender = gender;
+        this.parentName = parentName;
+        this.isActive = isActive;
+    }
+    
+    public static StudentSummaryResponse fromStudent(Student student) {
+        return new StudentSummaryResponse(student.getId(), student.getFirstName(), student.getLastName(),
+                student.getDateOfBirth(), student.getGender(), student.getParentName(), student.getIsActive());
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public void setDateOfBirth(LocalDate dateOfBirth) { this.dateOfBirth = dateOfBirth; }
+    
+    public String getGender() { return gender; }
+    public void setGender(String gender) { this.gender = gender; }
+    
+    public String getParentName() { return parentName; }
+    public void setParentName(String parentName) { this.parentName = parentName; }
+    
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    
+    // Helper method to get full name
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+    
+    // Helper method to calculate age
+    public int getAge() {
+        if (dateOfBirth != null) {
+            return LocalDate.now().getYear() - dateOfBirth.getYear();
+        }
+        return 0;
+    }
+}
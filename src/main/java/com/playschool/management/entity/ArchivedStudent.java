@@ -0,0 +1,127 @@
+package com.playschool.management.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a student that stayed inactive past the archive period. Rows are moved here (and back on
+ * reactivation) with set-based SQL by StudentRepositoryImpl, so the columns mirror students one to one
+ * and the id is the original student id. Read-only as far as JPA is concerned.
+ */
+@Entity
+@Table(name = "students_archive", indexes = {
+    @Index(name = "idx_students_archive_archived_at", columnList = "archivedAt")
+})
+public class ArchivedStudent {
+    
+    @Id
+    private Long id;
+    
+    @Column(length = 50, nullable = false)
+    private String firstName;
+    
+    @Column(length = 50, nullable = false)
+    private String lastName;
+    
+    @Column(nullable = false)
+    private LocalDate dateOfBirth;
+    
+    @Column(length = 10)
+    private String gender;
+    
+    @Column(length = 200)
+    private String address;
+    
+    @Column(length = 100)
+    private String parentName;
+    
+    @Column(length = 15)
+    private String parentPhone;
+    
+    @Column(length = 100)
+    private String parentEmail;
+    
+    @Column(name = "parent_email_normalized", length = 100)
+    private String parentEmailNormalized;
+    
+    @Column(length = 100)
+    private String emergencyContact;
+    
+    @Column(length = 15)
+    private String emergencyPhone;
+    
+    @Column(length = 500)
+    private String medicalInfo;
+    
+    @Column(length = 500)
+    private String allergies;
+    
+    private LocalDate enrollmentDate;
+    
+    @Column(name = "is_active")
+    private Boolean isActive;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+    
+    // Constructors
+    public ArchivedStudent() {}
+    
+    /**
+     * Detached Student carrying the archived values, for read paths that return students
+     */
+    public Student toStudent() {
+        Student student = new Student();
+        student.setId(id);
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        student.setDateOfBirth(dateOfBirth);
+        student.setGender(gender);
+        student.setAddress(address);
+        student.setParentName(parentName);
+        student.setParentPhone(parentPhone);
+        student.setParentEmail(parentEmail);
+        student.setEmergencyContact(emergencyContact);
+        student.setEmergencyPhone(emergencyPhone);
+        student.setMedicalInfo(medicalInfo);
+        student.setAllergies(allergies);
+        student.setEnrollmentDate(enrollmentDate);
+        student.setIsActive(isActive);
+        student.setCreatedAt(createdAt);
+        student.setUpdatedAt(updatedAt);
+        student.setVersion(version);
+        return student;
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public String getGender() { return gender; }
+    public String getAddress() { return address; }
+    public String getParentName() { return parentName; }
+    public String getParentPhone() { return parentPhone; }
+    public String getParentEmail() { return parentEmail; }
+    public String getParentEmailNormalized() { return parentEmailNormalized; }
+    public String getEmergencyContact() { return emergencyContact; }
+    public String getEmergencyPhone() { return emergencyPhone; }
+    public String getMedicalInfo() { return medicalInfo; }
+    public String getAllergies() { return allergies; }
+    public LocalDate getEnrollmentDate() { return enrollmentDate; }
+    public Boolean getIsActive() { return isActive; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,125 @@
+package com.playschool.management.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * A student CSV import. processedRows is the last data row whose chunk has been committed, so a
+ * job interrupted by a crash resumes from the row after it. owner is the instance running the job and
+ * holds it until leaseExpiresAt; the uploaded file lives on that instance's disk.
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+    
+    @Id
+    @Column(length = 36)
+    private String id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ImportJobStatus status;
+    
+    @Size(max = 255)
+    private String fileName;
+    
+    @Size(max = 500)
+    private String storedPath;
+    
+    private long fileSize;
+    
+    private long bytesRead;
+    
+    private long processedRows;
+    
+    private long importedRows;
+    
+    private long failedRows;
+    
+    @Size(max = 500)
+    private String errorMessage;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @Column(length = 100)
+    private String owner;
+    
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+    
+    // Constructors
+    public ImportJob() {}
+    
+    public ImportJob(String id, String fileName, String storedPath, long fileSize) {
+        this.id = id;
+        this.fileName = fileName;
+        this.storedPath = storedPath;
+        this.fileSize = fileSize;
+        this.status = ImportJobStatus.QUEUED;
+    }
+    
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public ImportJobStatus getStatus() { return status; }
+    public void setStatus(ImportJobStatus status) { this.status = status; }
+    
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    
+    public String getStoredPath() { return storedPath; }
+    public void setStoredPath(String storedPath) { this.storedPath = storedPath; }
+    
+    public long getFileSize() { return fileSize; }
+    public void setFileSize(long fileSize) { this.fileSize = fileSize; }
+    
+    public long getBytesRead() { return bytesRead; }
+    public void setBytesRead(long bytesRead) { this.bytesRead = bytesRead; }
+    
+    public long getProcessedRows() { return processedRows; }
+    public void setProcessedRows(long processedRows) { this.processedRows = processedRows; }
+    
+    public long getImportedRows() { return importedRows; }
+    public void setImportedRows(long importedRows) { this.importedRows = importedRows; }
+    
+    public long getFailedRows() { return failedRows; }
+    public void setFailedRows(long failedRows) { this.failedRows = failedRows; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+    
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,46 @@
+package com.playschool.management.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Size;
+
+@Entity
+@Table(name = "import_job_errors", indexes = {
+    @Index(name = "idx_import_job_errors_job_row", columnList = "jobId, rowNumber")
+})
+public class ImportJobError {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(length = 36)
+    private String jobId;
+    
+    private long rowNumber;
+    
+    @Size(max = 1000)
+    @Column(length = 1000)
+    private String message;
+    
+    // Constructors
+    public ImportJobError() {}
+    
+    public ImportJobError(String jobId, long rowNumber, String message) {
+        this.jobId = jobId;
+        this.rowNumber = rowNumber;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    
+    public long getRowNumber() { return rowNumber; }
+    public void setRowNumber(long rowNumber) { this.rowNumber = rowNumber; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
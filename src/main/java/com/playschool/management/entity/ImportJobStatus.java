@@ -0,0 +1,8 @@
+package com.playschool.management.entity;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -1,9 +1,16 @@
 package com.playschool.management.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 @Entity
 @Table(name = "roles")
+// Roles are seeded once and never updated, which is what lets them use the READ_ONLY cache strategy
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 public class Role {
     
     @Id
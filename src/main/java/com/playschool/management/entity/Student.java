@@ -4,15 +4,33 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
 
 @Entity
-@Table(name = "students")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
+@Table(name = "students", indexes = {
+    @Index(name = "idx_students_name_id", columnList = "lastName, firstName, id"),
+    @Index(name = "idx_students_updated_at", columnList = "updatedAt"),
+    @Index(name = "idx_students_parent_email_norm", columnList = "parentEmailNormalized, lastName, firstName, id")
+})
 public class Student {
     
+    // Sequence ids with a pooled optimizer (one round trip per ALLOCATION_SIZE rows) so inserts can be JDBC-batched;
+    // IDENTITY forces Hibernate to insert row by row. StudentSequenceInitializer keeps the sequence ahead of old ids.
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @NotBlank
@@ -41,6 +59,10 @@ public class Student {
     @Size(max = 100)
     private String parentEmail;
     
+    // Trimmed, lowercased parentEmail kept by the lifecycle callbacks; parent lookups use equality on it
+    @Column(name = "parent_email_normalized", length = 100)
+    private String parentEmailNormalized;
+    
     @Size(max = 100)
     private String emergencyContact;
     
@@ -64,6 +86,12 @@ public class Student {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic lock; the default fills existing rows when the column is added and rows written by COPY imports
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Constructors
     public Student() {}
     
@@ -104,6 +132,8 @@ public class Student {
     public String getParentEmail() { return parentEmail; }
     public void setParentEmail(String parentEmail) { this.parentEmail = parentEmail; }
     
+    public String getParentEmailNormalized() { return parentEmailNormalized; }
+    
     public String getEmergencyContact() { return emergencyContact; }
     public void setEmergencyContact(String emergencyContact) { this.emergencyContact = emergencyContact; }
     
@@ -128,10 +158,14 @@ public class Student {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = now();
+        updatedAt = now();
+        parentEmailNormalized = normalizeEmail(parentEmail);
         if (enrollmentDate == null) {
             enrollmentDate = LocalDate.now();
         }
@@ -139,6 +173,22 @@ public class Student {
     
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = now();
+        parentEmailNormalized = normalizeEmail(parentEmail);
+    }
+    
+    /**
+     * Canonical form used for parent email lookups: trimmed and lowercased, null when blank
+     */
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    // Columns are timestamp(6): keep the in-memory value identical to the stored one
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
@@ -0,0 +1,35 @@
+package com.playschool.management.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Single-row counter of committed changes to the students table, used as the collection ETag. It is
+ * incremented inside every writing transaction, so it moves exactly when the change becomes visible,
+ * and every instance reads the same value.
+ */
+@Entity
+@Table(name = "student_change_counter")
+public class StudentChangeCounter {
+    
+    public static final long ID = 1L;
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "change_count", nullable = false)
+    private long changeCount;
+    
+    // Constructors
+    public StudentChangeCounter() {}
+    
+    public StudentChangeCounter(Long id) {
+        this.id = id;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public long getChangeCount() { return changeCount; }
+    public void setChangeCount(long changeCount) { this.changeCount = changeCount; }
+}
@@ -4,12 +4,17 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
     
     @Id
@@ -43,6 +48,7 @@ public class User {
     private String phoneNumber;
     
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.roles")
     @JoinTable(name = "user_roles",
                joinColumns = @JoinColumn(name = "user_id"),
                inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -57,6 +63,11 @@ public class User {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    // Bumped on every role or status change; access tokens carry it so stale claims can be detected
+    @ColumnDefault("0")
+    @Column(name = "roles_version", nullable = false)
+    private Long rolesVersion = 0L;
+    
     // Constructors
     public User() {}
     
@@ -104,6 +115,9 @@ public class User {
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
     
+    public Long getRolesVersion() { return rolesVersion; }
+    public void setRolesVersion(Long rolesVersion) { this.rolesVersion = rolesVersion; }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
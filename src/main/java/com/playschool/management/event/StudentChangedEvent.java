@@ -0,0 +1,47 @@
+package com.playschool.management.event;
+
+import com.playschool.management.entity.Student;
+
+/**
+ * Published by StudentService whenever a student row is written. Listeners that keep in-memory
+ * views of the students table should react after commit so rolled-back writes are never seen.
+ */
+public class StudentChangedEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DEACTIVATED,
+        REACTIVATED
+    }
+    
+    private final Type type;
+    private final Student student;
+    private final boolean previouslyActive;
+    
+    public StudentChangedEvent(Type type, Student student, boolean previouslyActive) {
+        this.type = type;
+        this.student = student;
+        this.previouslyActive = previouslyActive;
+    }
+    
+    public static StudentChangedEvent created(Student student) {
+        return new StudentChangedEvent(Type.CREATED, student, false);
+    }
+    
+    public Type getType() { return type; }
+    public Student getStudent() { return student; }
+    public Long getStudentId() { return student.getId(); }
+    public boolean isPreviouslyActive() { return previouslyActive; }
+    
+    public boolean isActive() {
+        return Boolean.TRUE.equals(student.getIsActive());
+    }
+    
+    /**
+     * Change in the number of active students caused by this write: -1, 0 or +1
+     */
+    public int getActiveDelta() {
+        return (isActive() ? 1 : 0) - (previouslyActive ? 1 : 0);
+    }
+}
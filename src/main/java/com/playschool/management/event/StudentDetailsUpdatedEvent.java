@@ -0,0 +1,17 @@
+package com.playschool.management.event;
+
+/**
+ * Published when a contact or care field of a student is written with a bare conditional UPDATE, without
+ * loading the row. Name, status and parent email are unchanged, so in-memory indexes and aggregates can
+ * ignore it; the collection version and the change feed still have to see it.
+ */
+public class StudentDetailsUpdatedEvent {
+    
+    private final Long studentId;
+    
+    public StudentDetailsUpdatedEvent(Long studentId) {
+        this.studentId = studentId;
+    }
+    
+    public Long getStudentId() { return studentId; }
+}
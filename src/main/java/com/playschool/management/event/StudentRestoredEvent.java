@@ -0,0 +1,19 @@
+package com.playschool.management.event;
+
+import com.playschool.management.entity.Student;
+
+/**
+ * Published when an archived student is moved back into students, before the StudentChangedEvent of the
+ * same transaction (REACTIVATED, or UPDATED when an archived student is edited). The student is still
+ * inactive at this point.
+ */
+public class StudentRestoredEvent {
+    
+    private final Student student;
+    
+    public StudentRestoredEvent(Student student) {
+        this.student = student;
+    }
+    
+    public Student getStudent() { return student; }
+}
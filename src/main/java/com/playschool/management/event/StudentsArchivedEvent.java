@@ -0,0 +1,18 @@
+package com.playschool.management.event;
+
+import java.util.List;
+
+/**
+ * Published once per committed chunk of the archive job. The students were inactive and have moved from
+ * students to students_archive, so in-memory views of the hot table should forget them.
+ */
+public class StudentsArchivedEvent {
+    
+    private final List<Long> studentIds;
+    
+    public StudentsArchivedEvent(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+    
+    public List<Long> getStudentIds() { return studentIds; }
+}
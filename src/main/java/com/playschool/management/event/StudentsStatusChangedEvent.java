@@ -0,0 +1,35 @@
+package com.playschool.management.event;
+
+import java.util.List;
+
+/**
+ * Published once per committed chunk of a bulk deactivate/reactivate. The rows were changed with a
+ * set-based UPDATE, so listeners get the affected ids rather than entities.
+ */
+public class StudentsStatusChangedEvent {
+    
+    private final List<Long> studentIds;
+    private final boolean active;
+    private final int updatedRows;
+    
+    public StudentsStatusChangedEvent(List<Long> studentIds, boolean active, int updatedRows) {
+        this.studentIds = studentIds;
+        this.active = active;
+        this.updatedRows = updatedRows;
+    }
+    
+    // The students whose status this chunk changed
+    public List<Long> getStudentIds() { return studentIds; }
+    
+    public boolean isActive() { return active; }
+    
+    // Rows the UPDATE changed; the same as the number of ids, since those rows were locked beforehand
+    public int getUpdatedRows() { return updatedRows; }
+    
+    /**
+     * Change in the number of active students caused by this chunk
+     */
+    public int getActiveDelta() {
+        return active ? updatedRows : -updatedRows;
+    }
+}
@@ -0,0 +1,48 @@
+package com.playschool.management.event;
+
+import com.playschool.management.entity.Role;
+import com.playschool.management.entity.RoleName;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Published when a user is registered or its roles change. Carries the role names before and after the
+ * write, so listeners can adjust per-role counts without reading the user back.
+ */
+public class UserRolesChangedEvent {
+    
+    private final Long userId;
+    private final Set<RoleName> previousRoles;
+    private final Set<RoleName> roles;
+    private final boolean registered;
+    
+    public UserRolesChangedEvent(Long userId, Set<RoleName> previousRoles, Set<RoleName> roles, boolean registered) {
+        this.userId = userId;
+        this.previousRoles = previousRoles;
+        this.roles = roles;
+        this.registered = registered;
+    }
+    
+    public static UserRolesChangedEvent registered(Long userId, Collection<Role> roles) {
+        return new UserRolesChangedEvent(userId, EnumSet.noneOf(RoleName.class), namesOf(roles), true);
+    }
+    
+    public static UserRolesChangedEvent changed(Long userId, Set<RoleName> previousRoles, Collection<Role> roles) {
+        return new UserRolesChangedEvent(userId, previousRoles, namesOf(roles), false);
+    }
+    
+    public static Set<RoleName> namesOf(Collection<Role> roles) {
+        Set<RoleName> names = EnumSet.noneOf(RoleName.class);
+        roles.forEach(role -> names.add(role.getName()));
+        return names;
+    }
+    
+    public Long getUserId() { return userId; }
+    public Set<RoleName> getPreviousRoles() { return previousRoles; }
+    public Set<RoleName> getRoles() { return roles; }
+    
+    // True for a newly created account
+    public boolean isRegistered() { return registered; }
+}
@@ -0,0 +1,18 @@
+package com.playschool.management.event;
+
+/**
+ * Published when a user account is deactivated or activated again.
+ */
+public class UserStatusChangedEvent {
+    
+    private final Long userId;
+    private final boolean active;
+    
+    public UserStatusChangedEvent(Long userId, boolean active) {
+        this.userId = userId;
+        this.active = active;
+    }
+    
+    public Long getUserId() { return userId; }
+    public boolean isActive() { return active; }
+}
@@ -0,0 +1,30 @@
+package com.playschool.management.repository;
+
+import com.playschool.management.entity.ArchivedStudent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads over students_archive. Rows only get there (and back) through StudentRepository.archiveInactive
+ * and StudentRepository.restoreArchived.
+ */
+@Repository
+public interface ArchivedStudentRepository extends JpaRepository<ArchivedStudent, Long> {
+    
+    Optional<StudentRepository.StudentStamp> findStampById(Long id);
+    
+    // Enrolment history of archived students for the dashboard, without reading the rows themselves
+    @Query("SELECT year(a.enrollmentDate) AS year, month(a.enrollmentDate) AS month, COUNT(a) AS students "
+            + "FROM ArchivedStudent a WHERE a.enrollmentDate IS NOT NULL "
+            + "GROUP BY year(a.enrollmentDate), month(a.enrollmentDate)")
+    List<MonthCount> countEnrollmentsByMonth();
+    
+    interface MonthCount {
+        int getYear();
+        int getMonth();
+        long getStudents();
+    }
+}
@@ -0,0 +1,13 @@
+package com.playschool.management.repository;
+
+import com.playschool.management.entity.ImportJobError;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+    
+    List<ImportJobError> findByJobIdAndRowNumberGreaterThanOrderByRowNumber(String jobId, long afterRow, Limit limit);
+}
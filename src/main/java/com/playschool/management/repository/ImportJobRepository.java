@@ -0,0 +1,43 @@
+package com.playschool.management.repository;
+
+import com.playschool.management.entity.ImportJob;
+import com.playschool.management.entity.ImportJobStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, String> {
+    
+    List<ImportJob> findByStatusIn(Collection<ImportJobStatus> statuses);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM ImportJob j WHERE j.id = :id")
+    Optional<ImportJob> findForUpdate(@Param("id") String id);
+    
+    /**
+     * Take over an unfinished job whose owner is gone; at most one instance gets 1 back
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.owner = :owner, j.leaseExpiresAt = :leaseExpiresAt WHERE j.id = :id "
+            + "AND j.status IN :statuses AND (j.owner IS NULL OR j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)")
+    int claim(@Param("id") String id, @Param("statuses") Collection<ImportJobStatus> statuses,
+              @Param("owner") String owner, @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+              @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.leaseExpiresAt = :leaseExpiresAt WHERE j.owner = :owner AND j.status IN :statuses")
+    int renewLeases(@Param("owner") String owner, @Param("statuses") Collection<ImportJobStatus> statuses,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+}
@@ -0,0 +1,23 @@
+package com.playschool.management.repository;
+
+import com.playschool.management.entity.StudentChangeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface StudentChangeCounterRepository extends JpaRepository<StudentChangeCounter, Long> {
+    
+    @Query("SELECT c.changeCount FROM StudentChangeCounter c WHERE c.id = " + StudentChangeCounter.ID)
+    Optional<Long> findChangeCount();
+    
+    // Joins the caller's transaction, so the row lock is held only until that transaction commits
+    @Transactional
+    @Modifying
+    @Query("UPDATE StudentChangeCounter c SET c.changeCount = c.changeCount + 1 WHERE c.id = " + StudentChangeCounter.ID)
+    int increment();
+}
@@ -1,22 +1,129 @@
 package com.playschool.management.repository;
 
+import com.playschool.management.dto.response.StudentSummaryResponse;
 import com.playschool.management.entity.Student;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
     
+    // Entity reads for display are loaded read-only: no dirty-checking snapshot, even in a read-write transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Student> findByIsActiveTrue();
     
+    long countByIsActiveTrue();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT s FROM Student s WHERE s.firstName LIKE %:name% OR s.lastName LIKE %:name%")
     List<Student> findByNameContaining(@Param("name") String name);
     
-    List<Student> findByParentEmailIgnoreCase(String parentEmail);
+    // Callers pass Student.normalizeEmail(email) so the lookup is a plain equality on an indexed column
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Student> findByParentEmailNormalized(String parentEmailNormalized);
+    
+    @Query("SELECT s.id FROM Student s WHERE s.parentEmailNormalized = :parentEmail ORDER BY s.lastName, s.firstName, s.id")
+    List<Long> findIdsByParentEmailNormalized(@Param("parentEmail") String parentEmailNormalized);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("SELECT s FROM Student s WHERE s.isActive = true ORDER BY s.firstName, s.lastName")
     List<Student> findAllActiveStudentsOrderedByName();
+    
+    // Keyset pages ordered by (lastName, firstName, id); pass StudentCursor.START values for the first page
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT s FROM Student s WHERE s.isActive = true AND " + KEYSET_AFTER + " ORDER BY s.lastName, s.firstName, s.id")
+    List<Student> findActivePage(@Param("lastName") String lastName, @Param("firstName") String firstName,
+                                 @Param("id") Long id, Limit limit);
+    
+    // Summary projections: constructor expressions read only the roster columns and return unmanaged DTOs
+    @Query("SELECT " + SUMMARY + " FROM Student s WHERE s.isActive = true AND " + KEYSET_AFTER
+            + " ORDER BY s.lastName, s.firstName, s.id")
+    List<StudentSummaryResponse> findActiveSummaryPage(@Param("lastName") String lastName, @Param("firstName") String firstName,
+                                                       @Param("id") Long id, Limit limit);
+    
+    @Query("SELECT " + SUMMARY + " FROM Student s WHERE s.id IN :ids")
+    List<StudentSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // The ids among the given ones not yet in the target status, locked until the transaction ends so the
+    // UPDATE below changes exactly these
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids AND s.isActive <> :active")
+    List<Long> lockIdsNotInStatus(@Param("ids") Collection<Long> ids, @Param("active") boolean active);
+    
+    // Set-based status change for bulk lifecycle operations; rows already in the target status are left alone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Student s SET s.isActive = :active, s.version = s.version + 1, s.updatedAt = :now "
+            + "WHERE s.id IN :ids AND s.isActive <> :active")
+    int updateActiveStatus(@Param("ids") Collection<Long> ids, @Param("active") boolean active,
+                           @Param("now") LocalDateTime now);
+    
+    List<StudentNameView> findNameViewsByIdIn(Collection<Long> ids);
+    
+    // Archive candidates in id order: inactive and untouched since before the cutoff
+    @Query("SELECT s.id FROM Student s WHERE s.isActive = false AND s.updatedAt < :before AND s.id > :afterId ORDER BY s.id")
+    List<Long> findIdsToArchive(@Param("before") LocalDateTime before, @Param("afterId") Long afterId, Limit limit);
+    
+    // Version stamps for conditional requests (ETag / If-None-Match), read without loading the entity
+    Optional<StudentStamp> findStampById(Long id);
+    
+    // Just the columns the in-memory name indexes need
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id AS id, s.firstName AS firstName, s.lastName AS lastName, s.parentName AS parentName, "
+            + "s.isActive AS isActive FROM Student s")
+    Stream<StudentNameView> streamNames();
+    
+    // Per-student facts for the dashboard aggregates, read only by their periodic reconcile
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id AS id, s.dateOfBirth AS dateOfBirth, s.gender AS gender, s.enrollmentDate AS enrollmentDate, "
+            + "s.createdAt AS createdAt, s.isActive AS isActive FROM Student s")
+    Stream<StudentFactsView> streamFactsViews();
+    
+    interface StudentNameView {
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        String getParentName();
+        Boolean getIsActive();
+    }
+    
+    interface StudentFactsView {
+        Long getId();
+        LocalDate getDateOfBirth();
+        String getGender();
+        LocalDate getEnrollmentDate();
+        LocalDateTime getCreatedAt();
+        Boolean getIsActive();
+    }
+    
+    interface StudentStamp {
+        Long getId();
+        Long getVersion();
+    }
+    
+    String SUMMARY = "new com.playschool.management.dto.response.StudentSummaryResponse("
+            + "s.id, s.firstName, s.lastName, s.dateOfBirth, s.gender, s.parentName, s.isActive)";
+    
+    String KEYSET_AFTER = "(s.lastName > :lastName OR (s.lastName = :lastName AND "
+            + "(s.firstName > :firstName OR (s.firstName = :firstName AND s.id > :id))))";
 }
@@ -0,0 +1,75 @@
+package com.playschool.management.repository;
+
+import com.playschool.management.dto.response.StudentSummaryResponse;
+import com.playschool.management.entity.Student;
+import jakarta.persistence.Tuple;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Queries whose SELECT list or WHERE clause is chosen at runtime (sparse fieldsets, combinable filters),
+ * built with the Criteria API. Each tuple element is aliased with its entity attribute name.
+ */
+public interface StudentRepositoryCustom {
+    
+    List<Tuple> findActiveFieldsPage(Collection<String> attributes, String lastName, String firstName, Long id,
+                                     int limit);
+    
+    /**
+     * One keyset page of the students matching spec (null for all), ordered by (lastName, firstName, id).
+     * Entities are loaded read-only; pass StudentCursor.START values for the first page.
+     */
+    List<Student> findPage(Specification<Student> spec, String lastName, String firstName, Long id, int limit);
+    
+    // Same page as findPage, as column-trimmed summaries
+    List<StudentSummaryResponse> findSummaryPage(Specification<Student> spec, String lastName, String firstName, Long id,
+                                                 int limit);
+    
+    // Same page as findPage, selecting only the given attributes
+    List<Tuple> findFieldsPage(Collection<String> attributes, Specification<Student> spec, String lastName,
+                               String firstName, Long id, int limit);
+    
+    List<Tuple> findFieldsByIdIn(Collection<String> attributes, Collection<Long> ids);
+    
+    // Same as findFieldsByIdIn, over students_archive
+    List<Tuple> findArchivedFieldsByIdIn(Collection<String> attributes, Collection<Long> ids);
+    
+    /**
+     * Ids (ascending, after afterId) of students whose status is currentlyActive and that match every
+     * non-null filter: id in ids, dateOfBirth before dateOfBirthBefore, enrollmentDate before enrollmentDateBefore
+     */
+    List<Long> findIdsForStatusChange(boolean currentlyActive, Collection<Long> ids, LocalDate dateOfBirthBefore,
+                                      LocalDate enrollmentDateBefore, Long afterId, int limit);
+    
+    /**
+     * Active students in id order through a StatelessSession on the current transaction's connection: no
+     * persistence context, no dirty-checking snapshots and no second-level cache traffic, so memory stays
+     * flat however many rows are read. Must be consumed inside a transaction and closed.
+     */
+    Stream<Student> streamActiveStudentsStateless(int fetchSize);
+    
+    /**
+     * Single-column optimistic update: UPDATE ... SET attribute = ?, version = version + 1 WHERE id = ? AND version = ?.
+     * The attribute must be a String column and goes into the statement, so callers must pass a name from a
+     * fixed allow-list. Only this student's second-level cache entry is evicted.
+     * Returns the number of rows updated (0 when the row is missing or its version moved on).
+     */
+    int updateFieldIfVersion(Long id, Long version, String attribute, Object value);
+    
+    /**
+     * Move the given students to students_archive, skipping any that are no longer inactive or were updated
+     * at or after inactiveBefore. The rows are locked first, so a concurrent reactivation either wins (and
+     * the row stays) or waits and then finds it archived. Returns the ids actually moved.
+     */
+    List<Long> archiveInactive(Collection<Long> ids, LocalDateTime inactiveBefore);
+    
+    /**
+     * Move an archived student back into students, unchanged. Returns false when it is not archived.
+     */
+    boolean restoreArchived(Long id);
+}
@@ -0,0 +1,280 @@
+package com.playschool.management.repository;
+
+import com.playschool.management.dto.response.StudentSummaryResponse;
+import com.playschool.management.entity.ArchivedStudent;
+import com.playschool.management.entity.Student;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Criteria implementation of StudentRepositoryCustom. Picked up by Spring Data through the Impl suffix.
+ */
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+    
+    private static final String FIELD_UPDATE_SPACE = "students_field_update";
+    
+    // Every students column, in the same order in students_archive (which adds archived_at)
+    private static final String ARCHIVE_COLUMNS = "id, first_name, last_name, date_of_birth, gender, address, "
+            + "parent_name, parent_phone, parent_email, parent_email_normalized, emergency_contact, emergency_phone, "
+            + "medical_info, allergies, enrollment_date, is_active, created_at, updated_at, version";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Override
+    public List<Tuple> findActiveFieldsPage(Collection<String> attributes, String lastName, String firstName, Long id,
+                                            int limit) {
+        return findFieldsPage(attributes, StudentSpecifications.isActive(true), lastName, firstName, id, limit);
+    }
+    
+    @Override
+    public List<Student> findPage(Specification<Student> spec, String lastName, String firstName, Long id, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Student> query = cb.createQuery(Student.class);
+        Root<Student> s = query.from(Student.class);
+        query.select(s);
+        return keysetPage(cb, query, s, spec, lastName, firstName, id)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    @Override
+    public List<StudentSummaryResponse> findSummaryPage(Specification<Student> spec, String lastName, String firstName,
+                                                        Long id, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<StudentSummaryResponse> query = cb.createQuery(StudentSummaryResponse.class);
+        Root<Student> s = query.from(Student.class);
+        // Same columns as StudentRepository.SUMMARY
+        query.select(cb.construct(StudentSummaryResponse.class, s.get("id"), s.get("firstName"), s.get("lastName"),
+                s.get("dateOfBirth"), s.get("gender"), s.get("parentName"), s.get("isActive")));
+        return keysetPage(cb, query, s, spec, lastName, firstName, id).setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public List<Tuple> findFieldsPage(Collection<String> attributes, Specification<Student> spec, String lastName,
+                                      String firstName, Long id, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> s = query.from(Student.class);
+        query.multiselect(select(s, attributes));
+        return keysetPage(cb, query, s, spec, lastName, firstName, id).setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public List<Tuple> findFieldsByIdIn(Collection<String> attributes, Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Student> s = query.from(Student.class);
+        query.multiselect(select(s, attributes)).where(s.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+    
+    @Override
+    public List<Tuple> findArchivedFieldsByIdIn(Collection<String> attributes, Collection<Long> ids) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ArchivedStudent> a = query.from(ArchivedStudent.class);
+        query.multiselect(select(a, attributes)).where(a.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+    
+    @Override
+    public List<Long> findIdsForStatusChange(boolean currentlyActive, Collection<Long> ids, LocalDate dateOfBirthBefore,
+                                             LocalDate enrollmentDateBefore, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Student> s = query.from(Student.class);
+        
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(s.get("isActive"), currentlyActive));
+        where.add(cb.greaterThan(s.get("id"), afterId));
+        if (ids != null) {
+            where.add(s.get("id").in(ids));
+        }
+        if (dateOfBirthBefore != null) {
+            where.add(cb.lessThan(s.get("dateOfBirth"), dateOfBirthBefore));
+        }
+        if (enrollmentDateBefore != null) {
+            where.add(cb.lessThan(s.get("enrollmentDate"), enrollmentDateBefore));
+        }
+        
+        query.select(s.get("id")).where(where.toArray(new Predicate[0])).orderBy(cb.asc(s.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public Stream<Student> streamActiveStudentsStateless(int fetchSize) {
+        // Same connection (and so the same transaction and snapshot) as the surrounding Spring transaction
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        StatelessSession session = null;
+        try {
+            session = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                    .withStatelessOptions()
+                    .connection(connection)
+                    .openStatelessSession();
+            StatelessSession opened = session;
+            return session.createSelectionQuery("FROM Student s WHERE s.isActive = true ORDER BY s.id", Student.class)
+                    .setFetchSize(fetchSize)
+                    .stream()
+                    .onClose(() -> {
+                        opened.close();
+                        DataSourceUtils.releaseConnection(connection, dataSource);
+                    });
+        } catch (RuntimeException e) {
+            if (session != null) {
+                session.close();
+            }
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw e;
+        }
+    }
+    
+    @Override
+    public int updateFieldIfVersion(Long id, Long version, String attribute, Object value) {
+        // Native SQL on a private query space: an HQL bulk UPDATE would evict the whole students
+        // second-level cache region, while only this one row needs evicting
+        int updated = entityManager.createNativeQuery("UPDATE students SET " + column(attribute) + " = :value, "
+                        + "version = version + 1, updated_at = :now WHERE id = :id AND version = :version")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(FIELD_UPDATE_SPACE)
+                .setParameter("value", value, StandardBasicTypes.STRING)
+                .setParameter("now", LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .setParameter("id", id)
+                .setParameter("version", version)
+                .executeUpdate();
+        if (updated > 0) {
+            evictAfterCommit(id);
+        }
+        return updated;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> archiveInactive(Collection<Long> ids, LocalDateTime inactiveBefore) {
+        List<Number> locked = entityManager.createNativeQuery("SELECT id FROM students WHERE id IN (:ids) "
+                        + "AND is_active = false AND updated_at < :before ORDER BY id FOR UPDATE")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(FIELD_UPDATE_SPACE)
+                .setParameterList("ids", ids)
+                .setParameter("before", inactiveBefore)
+                .getResultList();
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        List<Long> moved = locked.stream().map(Number::longValue).toList();
+        
+        // Native SQL on narrow query spaces, as in updateFieldIfVersion, so only these rows leave the cache
+        entityManager.createNativeQuery("INSERT INTO students_archive (" + ARCHIVE_COLUMNS + ", archived_at) "
+                        + "SELECT " + ARCHIVE_COLUMNS + ", :now FROM students WHERE id IN (:ids)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(ArchivedStudent.class)
+                .setParameter("now", LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .setParameterList("ids", moved)
+                .executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM students WHERE id IN (:ids)")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(FIELD_UPDATE_SPACE)
+                .setParameterList("ids", moved)
+                .executeUpdate();
+        moved.forEach(this::evictAfterCommit);
+        return moved;
+    }
+    
+    @Override
+    public boolean restoreArchived(Long id) {
+        int restored = entityManager.createNativeQuery("INSERT INTO students (" + ARCHIVE_COLUMNS + ") "
+                        + "SELECT " + ARCHIVE_COLUMNS + " FROM students_archive WHERE id = :id")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(FIELD_UPDATE_SPACE)
+                .setParameter("id", id)
+                .executeUpdate();
+        if (restored == 0) {
+            return false;
+        }
+        entityManager.createNativeQuery("DELETE FROM students_archive WHERE id = :id")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(ArchivedStudent.class)
+                .setParameter("id", id)
+                .executeUpdate();
+        return true;
+    }
+    
+    // Evict now and again after commit, so an entry re-cached from a read that raced the update is dropped too
+    private void evictAfterCommit(Long id) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Student.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(Student.class, id);
+                }
+            });
+        }
+    }
+    
+    // Column for a Student attribute under Spring's default physical naming (camelCase -> snake_case)
+    private static String column(String attribute) {
+        return attribute.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+    
+    private static List<Selection<?>> select(Root<?> s, Collection<String> attributes) {
+        return attributes.stream().<Selection<?>>map(attribute -> s.get(attribute).alias(attribute)).toList();
+    }
+    
+    // WHERE spec AND keyset-after, ORDER BY the keyset columns
+    private <T> TypedQuery<T> keysetPage(CriteriaBuilder cb, CriteriaQuery<T> query, Root<Student> s,
+                                         Specification<Student> spec, String lastName, String firstName, Long id) {
+        Predicate after = keysetAfter(cb, s, lastName, firstName, id);
+        Predicate filter = spec == null ? null : spec.toPredicate(s, query, cb);
+        query.where(filter == null ? after : cb.and(filter, after)).orderBy(keysetOrder(cb, s));
+        return entityManager.createQuery(query);
+    }
+    
+    // Same predicate as StudentRepository.KEYSET_AFTER
+    private static Predicate keysetAfter(CriteriaBuilder cb, Root<Student> s, String lastName, String firstName, Long id) {
+        return cb.or(
+                cb.greaterThan(s.get("lastName"), lastName),
+                cb.and(cb.equal(s.get("lastName"), lastName),
+                        cb.or(cb.greaterThan(s.get("firstName"), firstName),
+                                cb.and(cb.equal(s.get("firstName"), firstName), cb.greaterThan(s.get("id"), id)))));
+    }
+    
+    private static List<Order> keysetOrder(CriteriaBuilder cb, Root<Student> s) {
+        return List.of(cb.asc(s.get("lastName")), cb.asc(s.get("firstName")), cb.asc(s.get("id")));
+    }
+}
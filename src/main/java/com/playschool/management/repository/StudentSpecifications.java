@@ -0,0 +1,77 @@
+package com.playschool.management.repository;
+
+import com.playschool.management.entity.Student;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Building blocks for the multi-filter student query. Each filter is one Specification, so new filters
+ * plug in without touching the query code; StudentRepositoryImpl adds the keyset predicate and ordering.
+ * The predicates are written to match the indexes on Student and StudentIndexMigration.
+ */
+public final class StudentSpecifications {
+    
+    private StudentSpecifications() {
+    }
+    
+    // A literal rather than a bind parameter, so the planner can match the partial is_active = true indexes
+    public static Specification<Student> isActive(boolean active) {
+        return (s, query, cb) -> active ? cb.isTrue(s.get("isActive")) : cb.isFalse(s.get("isActive"));
+    }
+    
+    // dateOfBirth in [from, to); either bound may be null
+    public static Specification<Student> bornBetween(LocalDate from, LocalDate to) {
+        return (s, query, cb) -> between(cb, s.get("dateOfBirth"), from, to, false);
+    }
+    
+    // enrollmentDate in [from, to], both inclusive; either bound may be null
+    public static Specification<Student> enrolledBetween(LocalDate from, LocalDate to) {
+        return (s, query, cb) -> between(cb, s.get("enrollmentDate"), from, to, true);
+    }
+    
+    // Gender is free text on registration, so compare case-insensitively
+    public static Specification<Student> gender(String gender) {
+        String value = gender.trim().toUpperCase(Locale.ROOT);
+        return (s, query, cb) -> cb.equal(cb.upper(s.<String>get("gender")), value);
+    }
+    
+    public static Specification<Student> hasAllergies(boolean hasAllergies) {
+        return (s, query, cb) -> {
+            if (hasAllergies) {
+                return cb.and(cb.isNotNull(s.get("allergies")), cb.notEqual(cb.trim(s.<String>get("allergies")), ""));
+            }
+            return cb.or(cb.isNull(s.get("allergies")), cb.equal(cb.trim(s.<String>get("allergies")), ""));
+        };
+    }
+    
+    // Case-insensitive prefix of either name; LIKE 'x%' on lower(...) is served by the text_pattern_ops indexes
+    public static Specification<Student> namePrefix(String prefix) {
+        String pattern = escapeLike(prefix.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (s, query, cb) -> cb.or(
+                cb.like(cb.lower(s.<String>get("lastName")), pattern, '\\'),
+                cb.like(cb.lower(s.<String>get("firstName")), pattern, '\\'));
+    }
+    
+    private static Predicate between(CriteriaBuilder cb, Path<LocalDate> path, LocalDate from, LocalDate to,
+                                     boolean toInclusive) {
+        List<Predicate> bounds = new ArrayList<>(2);
+        if (from != null) {
+            bounds.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            bounds.add(toInclusive ? cb.lessThanOrEqualTo(path, to) : cb.lessThan(path, to));
+        }
+        return cb.and(bounds.toArray(new Predicate[0]));
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
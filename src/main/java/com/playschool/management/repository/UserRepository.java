@@ -1,18 +1,49 @@
 package com.playschool.management.repository;
 
+import com.playschool.management.entity.RoleName;
 import com.playschool.management.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Query cache: result ids are cached and the users come from the entity cache, until users changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
+    // Users holding a role, each with all of its roles fetched in the same query; loaded read-only
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT u FROM User u JOIN FETCH u.roles WHERE u.id IN "
+            + "(SELECT m.id FROM User m JOIN m.roles r WHERE r.name = :roleName) ORDER BY u.username")
+    List<User> findAllWithRolesByRoleName(@Param("roleName") RoleName roleName);
+    
+    @Query("SELECT r.name AS roleName, COUNT(u) AS users FROM User u JOIN u.roles r GROUP BY r.name")
+    List<RoleCount> countUsersByRole();
+    
+    long countByCreatedAtGreaterThanEqual(LocalDateTime since);
+    
+    // Checked against the rv claim of access tokens (see RoleVersionCache)
+    @Query("SELECT u.rolesVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findRolesVersionById(@Param("id") Long id);
+    
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
+    
+    interface RoleCount {
+        RoleName getRoleName();
+        long getUsers();
+    }
 }
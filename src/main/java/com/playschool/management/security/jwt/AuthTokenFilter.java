@@ -8,12 +8,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.playschool.management.security.services.UserDetailsServiceImpl;
+import com.playschool.management.security.services.RoleVersionCache;
+import com.playschool.management.security.services.TokenRevocationList;
+import com.playschool.management.security.services.UserPrincipal;
+import com.playschool.management.security.services.UserPrincipalCache;
+
+import io.jsonwebtoken.Claims;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -30,7 +36,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private UserPrincipalCache userPrincipalCache;
+
+    @Autowired
+    private RoleVersionCache roleVersionCache;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
 
     private static final Logger log = LoggerFactory.getLogger(AuthTokenFilter.class);
 
@@ -44,10 +56,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try {
             String jwt = parseJwt(request);
 
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.parseClaims(jwt) : null;
+
+            // In-memory check; a logged-out token is treated like no token at all
+            if (claims != null && tokenRevocationList.isRevoked(claims.getId())) {
+                log.debug("Rejected revoked token {}", claims.getId());
+                claims = null;
+            }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = claims != null ? resolvePrincipal(claims) : null;
+
+            // A deactivated account keeps no access, even with an unexpired token
+            if (userDetails != null && userDetails.isEnabled()) {
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
@@ -60,7 +80,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
 
-        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException e) {
+        } catch (io.jsonwebtoken.JwtException | IllegalArgumentException | UsernameNotFoundException e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
             // Do not throw or block here — continue the filter chain
         }
@@ -68,6 +88,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Principal from the token claims while their role version is current; otherwise (roles changed,
+     * or a token issued before the claims existed) the user comes from the principal cache.
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        UserPrincipal fromClaims = jwtUtils.getPrincipalFromClaims(claims);
+        if (fromClaims != null && roleVersionCache.isCurrent(fromClaims.getId(), fromClaims.getRolesVersion())) {
+            return fromClaims;
+        }
+        return userPrincipalCache.get(claims.getSubject());
+    }
+
     /**
      * Extracts JWT token from Authorization header.
      */
@@ -0,0 +1,268 @@
+package com.playschool.management.security.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.dto.response.MessageResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Throttles POST /api/auth/signin and /api/auth/signup per client IP and per username before any
+ * password hashing or database work happens. Runs right after CorsFilter, ahead of Spring Security, so
+ * a 429 still carries CORS headers. The client IP is request.getRemoteAddr(). Behind a proxy this is
+ * only the client when server.forward-headers-strategy is set (the cloud profile does), and
+ * X-Forwarded-For is only believed from addresses in server.tomcat.remoteip.internal-proxies.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+    
+    private static final String SIGNIN = "/api/auth/signin";
+    private static final String SIGNUP = "/api/auth/signup";
+    
+    // Credentials bodies are tiny; larger ones are refused before they are buffered
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${rate-limit.signin.per-ip:20/1m}")
+    private String signinPerIp;
+    
+    @Value("${rate-limit.signin.per-username:5/1m}")
+    private String signinPerUsername;
+    
+    @Value("${rate-limit.signup.per-ip:5/10m}")
+    private String signupPerIp;
+    
+    @Value("${rate-limit.signup.per-username:3/10m}")
+    private String signupPerUsername;
+    
+    @Value("${rate-limit.max-keys:100000}")
+    private long maxKeys;
+    
+    @Value("${rate-limit.sweep-interval:1m}")
+    private Duration sweepInterval;
+    
+    private RateLimiter rateLimiter;
+    private RateLimiter.Limit signinIp;
+    private RateLimiter.Limit signinUser;
+    private RateLimiter.Limit signupIp;
+    private RateLimiter.Limit signupUser;
+    
+    @PostConstruct
+    public void start() {
+        signinIp = RateLimiter.Limit.parse("signin-ip", signinPerIp);
+        signinUser = RateLimiter.Limit.parse("signin-user", signinPerUsername);
+        signupIp = RateLimiter.Limit.parse("signup-ip", signupPerIp);
+        signupUser = RateLimiter.Limit.parse("signup-user", signupPerUsername);
+        rateLimiter = new RateLimiter(maxKeys, sweepInterval);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        rateLimiter.shutdown();
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        return !SIGNIN.equals(path) && !SIGNUP.equals(path);
+    }
+    
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean signin = SIGNIN.equals(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        
+        // Per IP first, so a flood is turned away without reading its bodies
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(signin ? signinIp : signupIp, request.getRemoteAddr());
+        if (!decision.isAllowed()) {
+            reject(response, decision);
+            return;
+        }
+        
+        if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+            tooLarge(response);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            tooLarge(response);
+            return;
+        }
+        HttpServletRequest replayable = new ReplayedBodyRequest(request, body);
+        String username = username(body);
+        
+        if (username != null) {
+            RateLimiter.Decision userDecision = rateLimiter.tryAcquire(signin ? signinUser : signupUser, username);
+            if (!userDecision.isAllowed()) {
+                reject(response, userDecision);
+                return;
+            }
+            if (userDecision.getRemaining() < decision.getRemaining()) {
+                decision = userDecision;
+            }
+        }
+        
+        writeHeaders(response, decision);
+        filterChain.doFilter(replayable, response);
+    }
+    
+    // Usernames are compared case-insensitively here so case variants share one bucket
+    private String username(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() && !username.asText().isBlank()
+                    ? username.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed JSON is rejected by the controller; only the IP limit applies
+            return null;
+        }
+    }
+    
+    private void reject(HttpServletResponse response, RateLimiter.Decision decision) throws IOException {
+        writeHeaders(response, decision);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, decision.getRetryAfterSeconds())));
+        response.setStatus(429);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new MessageResponse("Error: Too many requests, please retry later"));
+    }
+    
+    private void tooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new MessageResponse("Error: Request body is too large"));
+    }
+    
+    // IETF RateLimit header fields: requests per window, what is left, seconds until the window is full again
+    private static void writeHeaders(HttpServletResponse response, RateLimiter.Decision decision) {
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.getLimit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.getResetSeconds()));
+    }
+    
+    /**
+     * Hands the body, already read in full, back to the controller
+     */
+    private static class ReplayedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        private ServletInputStream stream;
+        
+        ReplayedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            if (stream == null) {
+                stream = new ReplayedInputStream(body);
+            }
+            return stream;
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+        
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+    
+    /**
+     * A ServletInputStream over an in-memory body. All data is available at once, so a ReadListener gets
+     * onDataAvailable (when there is anything to read) and, once it has read everything, onAllDataRead.
+     */
+    private static class ReplayedInputStream extends ServletInputStream {
+        
+        private final ByteArrayInputStream body;
+        
+        ReplayedInputStream(byte[] body) {
+            this.body = new ByteArrayInputStream(body);
+        }
+        
+        @Override
+        public int read() {
+            return body.read();
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            return body.read(buffer, offset, length);
+        }
+        
+        @Override
+        public int available() {
+            return body.available();
+        }
+        
+        @Override
+        public boolean isFinished() {
+            return body.available() == 0;
+        }
+        
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+        
+        @Override
+        public void setReadListener(ReadListener listener) {
+            try {
+                if (!isFinished()) {
+                    listener.onDataAvailable();
+                }
+                if (isFinished()) {
+                    listener.onAllDataRead();
+                }
+            } catch (IOException e) {
+                listener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.playschool.management.security.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets keyed by an arbitrary string (client IP, username). Each bucket is a single AtomicLong
+ * holding the time at which it would be full again (the GCRA form of a token bucket), so acquiring a
+ * token is one compare-and-set and never blocks. Buckets that have refilled completely carry no state
+ * and are removed by a background sweep. Past maxKeys, idle buckets are swept inline; if the map is still
+ * full, new keys are let through untracked rather than sharing a bucket, so a spray of addresses or
+ * usernames cannot lock everyone else out. Keys that already have a bucket stay limited throughout.
+ */
+public class RateLimiter {
+    
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+    
+    // Inline sweeps when full are at most this frequent, so a flood does not turn into repeated full scans
+    private static final long INLINE_SWEEP_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    /**
+     * capacity requests per period, refilled evenly; also the largest burst
+     */
+    public static final class Limit {
+        
+        private final String name;
+        private final int capacity;
+        private final long periodNanos;
+        private final long intervalNanos;
+        
+        public Limit(String name, int capacity, Duration period) {
+            if (capacity < 1 || period.isZero() || period.isNegative()) {
+                throw new IllegalArgumentException("Invalid rate limit " + name + ": " + capacity + "/" + period);
+            }
+            this.name = name;
+            this.capacity = capacity;
+            this.periodNanos = period.toNanos();
+            this.intervalNanos = periodNanos / capacity;
+        }
+        
+        /**
+         * Parse "20/1m" (20 requests per minute); the period takes any Spring Boot duration format
+         */
+        public static Limit parse(String name, String value) {
+            int slash = value.indexOf('/');
+            if (slash < 0) {
+                throw new IllegalArgumentException("Rate limit " + name + " must look like 20/1m: " + value);
+            }
+            return new Limit(name, Integer.parseInt(value.substring(0, slash).trim()),
+                    DurationStyle.detectAndParse(value.substring(slash + 1).trim()));
+        }
+        
+        public String getName() { return name; }
+        public int getCapacity() { return capacity; }
+    }
+    
+    public static final class Decision {
+        
+        private final boolean allowed;
+        private final int limit;
+        private final int remaining;
+        private final long resetNanos;
+        private final long retryAfterNanos;
+        
+        Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+            this.allowed = allowed;
+            this.limit = limit;
+            this.remaining = remaining;
+            this.resetNanos = resetNanos;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+        
+        public boolean isAllowed() { return allowed; }
+        public int getLimit() { return limit; }
+        public int getRemaining() { return remaining; }
+        
+        // Seconds until the bucket is full again
+        public long getResetSeconds() { return toSeconds(resetNanos); }
+        
+        // Seconds until the next request would be allowed; 0 when allowed
+        public long getRetryAfterSeconds() { return toSeconds(retryAfterNanos); }
+        
+        private static long toSeconds(long nanos) {
+            return nanos <= 0 ? 0 : (nanos + 999_999_999L) / 1_000_000_000L;
+        }
+    }
+    
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long maxKeys;
+    private final ScheduledExecutorService sweeper;
+    private final AtomicLong lastInlineSweep = new AtomicLong(System.nanoTime() - INLINE_SWEEP_NANOS);
+    private final AtomicLong untracked = new AtomicLong();
+    
+    public RateLimiter(long maxKeys, Duration sweepInterval) {
+        this.maxKeys = maxKeys;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = sweepInterval.toMillis();
+        sweeper.scheduleWithFixedDelay(this::evictIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Take one token from the bucket of key under the given limit
+     */
+    public Decision tryAcquire(Limit limit, String key) {
+        return tryAcquire(limit, key, System.nanoTime());
+    }
+    
+    // now is a System.nanoTime() reading; taken as a parameter so tests can step the clock
+    Decision tryAcquire(Limit limit, String key, long now) {
+        AtomicLong bucket = bucketFor(limit.name + '|' + key, now);
+        if (bucket == null) {
+            // Over capacity: answer as a fresh bucket would, without remembering the key
+            untracked.incrementAndGet();
+            return new Decision(true, limit.capacity, limit.capacity - 1, limit.intervalNanos, 0);
+        }
+        
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + limit.intervalNanos;
+            long backlog = next - now;
+            if (backlog > limit.periodNanos) {
+                // Bucket is empty: no state change, report when one token will be back
+                long retryAfter = backlog - limit.periodNanos;
+                return new Decision(false, limit.capacity, 0, fullAt - now, retryAfter);
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                int remaining = (int) ((limit.periodNanos - backlog) / limit.intervalNanos);
+                return new Decision(true, limit.capacity, remaining, backlog, 0);
+            }
+        }
+    }
+    
+    public long size() {
+        return buckets.mappingCount();
+    }
+    
+    /**
+     * Requests let through without a bucket because the key map was full
+     */
+    public long getUntrackedCount() {
+        return untracked.get();
+    }
+    
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+    
+    /**
+     * Drop buckets that have refilled; a fresh bucket is equivalent. A request racing with the removal
+     * may be counted against the dropped bucket, which only errs towards allowing it.
+     */
+    void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+    
+    // Null when the map is full even after dropping idle buckets
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.mappingCount() >= maxKeys) {
+            long last = lastInlineSweep.get();
+            if (now - last >= INLINE_SWEEP_NANOS && lastInlineSweep.compareAndSet(last, now)) {
+                evictIdle();
+            }
+            if (buckets.mappingCount() >= maxKeys) {
+                if (untracked.get() == 0) {
+                    log.warn("Rate limiter is tracking {} keys; new clients are allowed untracked until buckets expire", maxKeys);
+                }
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+}
@@ -0,0 +1,37 @@
+package com.playschool.management.security.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * DaoAuthenticationProvider whose password re-hash on login is best effort. The upgrade runs after the
+ * password has already matched, and its encode can be turned away by BoundedPasswordEncoder when the
+ * hashing queue is full; that must not turn a correct login into a 503, so the login succeeds with
+ * the old hash kept and the upgrade is retried on a later login.
+ */
+public class BestEffortUpgradeAuthenticationProvider extends DaoAuthenticationProvider {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BestEffortUpgradeAuthenticationProvider.class);
+    
+    @SuppressWarnings("deprecation")
+    public BestEffortUpgradeAuthenticationProvider() {
+        super();
+    }
+    
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication, UserDetails user) {
+        try {
+            return super.createSuccessAuthentication(principal, authentication, user);
+        } catch (PasswordHashingRejectedException e) {
+            logger.debug("Skipped password hash upgrade for {}: hashing queue is full", user.getUsername());
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(principal,
+                    authentication.getCredentials(), user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+    }
+}
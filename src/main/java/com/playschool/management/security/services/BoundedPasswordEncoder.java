@@ -0,0 +1,130 @@
+package com.playschool.management.security.services;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a fixed pool sized to the CPU count with a bounded queue. At most threads + queueCapacity
+ * request threads wait on hashing at any time; beyond that encode and matches fail fast with
+ * PasswordHashingRejectedException, so a login storm cannot starve the CPU or every Tomcat worker.
+ * Hashes whose cost differs from the configured strength report upgradeEncoding, which makes
+ * DaoAuthenticationProvider re-hash them on the next successful login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+    
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final int queueCapacity;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long retryAfterSeconds) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.queueCapacity = queueCapacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    // Only the cost is compared; anything that is not a BCrypt hash is left to matches to reject
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+    
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    public int getPoolSize() { return executor.getMaximumPoolSize(); }
+    public int getQueueCapacity() { return queueCapacity; }
+    public int getQueueDepth() { return executor.getQueue().size(); }
+    public int getActiveCount() { return executor.getActiveCount(); }
+    public int getStrength() { return strength; }
+    public long getHashCount() { return hashes.sum(); }
+    public long getRejectedCount() { return rejected.sum(); }
+    
+    public double getAverageHashMillis() {
+        long count = hashes.sum();
+        return count == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / count;
+    }
+    
+    // Time spent in the queue before a hashing thread picked the work up
+    public double getAverageWaitMillis() {
+        long count = hashes.sum();
+        return count == 0 ? 0.0 : waitNanos.sum() / 1_000_000.0 / count;
+    }
+    
+    private <T> T run(Callable<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hashing.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - started);
+                    waitNanos.add(started - submitted);
+                    hashes.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException(retryAfterSeconds);
+        }
+        
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
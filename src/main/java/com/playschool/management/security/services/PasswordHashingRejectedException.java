@@ -0,0 +1,16 @@
+package com.playschool.management.security.services;
+
+/**
+ * Thrown when the password hashing queue is full; callers answer 503 with Retry-After
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Too many sign-in requests, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
@@ -0,0 +1,136 @@
+package com.playschool.management.security.services;
+
+import com.playschool.management.entity.RefreshToken;
+import com.playschool.management.entity.User;
+import com.playschool.management.repository.RefreshTokenRepository;
+import com.playschool.management.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Clients only ever see the random token; the table keeps its SHA-256,
+ * which is enough for a 256-bit random value and keeps lookups a single indexed read.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+    
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${jwt.refresh.ttl:14d}")
+    private Duration refreshTtl;
+    
+    /**
+     * A rotated refresh token together with the principal to put in the new access token
+     */
+    public static class Rotation {
+        
+        private final UserPrincipal principal;
+        private final String refreshToken;
+        
+        Rotation(UserPrincipal principal, String refreshToken) {
+            this.principal = principal;
+            this.refreshToken = refreshToken;
+        }
+        
+        public UserPrincipal getPrincipal() { return principal; }
+        public String getRefreshToken() { return refreshToken; }
+    }
+    
+    /**
+     * Start a new token family at sign-in
+     */
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+    
+    /**
+     * Exchange a refresh token for a new one. Empty when the token is unknown, expired, already used or
+     * its user is deactivated; reuse of a rotated token also revokes the rest of its family. Failures are
+     * returned rather than thrown so that family revocation is not rolled back.
+     */
+    public Optional<Rotation> rotate(String rawToken) {
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        RefreshToken token = found.get();
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getExpiresAt().isBefore(now)) {
+            return Optional.empty();
+        }
+        if (refreshTokenRepository.revokeIfActive(token.getId(), now) == 0) {
+            log.warn("Revoked refresh token presented for user {}; revoking token family {}", token.getUserId(), token.getFamilyId());
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            return Optional.empty();
+        }
+        
+        Optional<User> user = userRepository.findById(token.getUserId());
+        if (user.isEmpty() || Boolean.FALSE.equals(user.get().getIsActive())) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            return Optional.empty();
+        }
+        
+        UserPrincipal principal = UserPrincipal.create(user.get());
+        principal.eraseCredentials();
+        return Optional.of(new Rotation(principal, issue(token.getUserId(), token.getFamilyId())));
+    }
+    
+    /**
+     * Revoke the family of the given refresh token, e.g. on logout; unknown tokens are ignored
+     */
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+    
+    @Scheduled(cron = "${jwt.refresh.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired refresh tokens", deleted);
+        }
+    }
+    
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), userId, familyId, LocalDateTime.now().plus(refreshTtl)));
+        return rawToken;
+    }
+    
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
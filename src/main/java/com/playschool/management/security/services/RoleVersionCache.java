@@ -0,0 +1,54 @@
+package com.playschool.management.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.playschool.management.event.UserRolesChangedEvent;
+import com.playschool.management.event.UserStatusChangedEvent;
+import com.playschool.management.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Current User.rolesVersion per user id, so AuthTokenFilter can trust the role claims of a token without
+ * loading the user. Role changes on this instance take effect at once; on other instances an entry is at
+ * most jwt.role-version.ttl old, which bounds how long a token's outdated roles can still be accepted.
+ */
+@Component
+public class RoleVersionCache {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    private final Cache<Long, Long> versions;
+    
+    public RoleVersionCache(@Value("${jwt.role-version.max-size:10000}") long maxSize,
+                            @Value("${jwt.role-version.ttl:1m}") Duration ttl) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+    
+    /**
+     * True if the user still exists and its roles have not changed since the given version was issued
+     */
+    public boolean isCurrent(Long userId, long rolesVersion) {
+        Long current = versions.get(userId, id -> userRepository.findRolesVersionById(id).orElse(null));
+        return current != null && current == rolesVersion;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        versions.invalidate(event.getUserId());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        versions.invalidate(event.getUserId());
+    }
+}
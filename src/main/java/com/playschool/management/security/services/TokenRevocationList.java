@@ -0,0 +1,159 @@
+package com.playschool.management.security.services;
+
+import com.playschool.management.entity.RevokedToken;
+import com.playschool.management.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked access token ids, checked by AuthTokenFilter on every request without any I/O. A Bloom filter
+ * answers the common case (not revoked) from a few bit reads; only on a hit is the exact set consulted,
+ * so false positives never reject a valid token. Revocations on this instance apply at once; the whole
+ * list is rebuilt from revoked_tokens every jwt.revocation.rebuild-interval, which is how revocations on
+ * other instances arrive and how expired entries leave.
+ */
+@Component
+public class TokenRevocationList {
+    
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+    
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    
+    // Bloom filter sizing: at least this many entries at a 1% false positive rate
+    @Value("${jwt.revocation.expected-revocations:10000}")
+    private int expectedRevocations;
+    
+    private volatile Snapshot snapshot;
+    
+    @PostConstruct
+    public void init() {
+        snapshot = new Snapshot(expectedRevocations);
+        rebuild();
+    }
+    
+    /**
+     * True if the token with this jti was revoked; tokens without a jti cannot be revoked
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.mightContain(jti) && current.revoked.containsKey(jti);
+    }
+    
+    /**
+     * Record a revocation until the token would have expired anyway
+     */
+    public void revoke(String jti, Date expiresAt) {
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(jti, expiry));
+        synchronized (this) {
+            snapshot.add(jti, expiresAt.getTime());
+        }
+    }
+    
+    /**
+     * Replace the list with the unexpired rows of revoked_tokens, dropping expired rows on the way.
+     * Local revocations not yet visible to the query are carried over from the previous snapshot.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:30s}")
+    public void rebuild() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            revokedTokenRepository.deleteExpired(now);
+            List<RevokedToken> rows = revokedTokenRepository.findByExpiresAtAfter(now);
+            
+            Snapshot next = new Snapshot(Math.max(expectedRevocations, 2 * rows.size()));
+            for (RevokedToken row : rows) {
+                next.add(row.getJti(), row.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            synchronized (this) {
+                long nowMillis = System.currentTimeMillis();
+                snapshot.revoked.forEach((jti, expiresAt) -> {
+                    if (expiresAt > nowMillis) {
+                        next.add(jti, expiresAt);
+                    }
+                });
+                snapshot = next;
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot; the next run tries again
+            log.warn("Could not rebuild the token revocation list: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Bloom filter plus the exact jti -> expiry (epoch millis) map it fronts. Bits are only ever set, so
+     * concurrent readers see either the old or the new state of a word, never a torn one.
+     */
+    private static class Snapshot {
+        
+        private static final int HASHES = 7;
+        
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+        
+        Snapshot(int expectedEntries) {
+            // m = -n ln(p) / ln(2)^2 with p = 1%, about 9.6 bits per entry
+            long m = Math.max(1024, (long) Math.ceil(expectedEntries * 9.6));
+            this.bits = new AtomicLongArray((int) ((m + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+        }
+        
+        void add(String jti, long expiresAt) {
+            revoked.put(jti, expiresAt);
+            long h = hash64(jti);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                long mask = 1L << bit;
+                bits.getAndUpdate((int) (bit >>> 6), word -> word | mask);
+            }
+        }
+        
+        boolean mightContain(String jti) {
+            long h = hash64(jti);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        // FNV-1a over the chars, then the MurmurHash3 finalizer to spread the bits
+        private static long hash64(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -4,23 +4,37 @@ import com.playschool.management.entity.User;
 import com.playschool.management.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     UserRepository userRepository;
     
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
         
         return UserPrincipal.create(user);
     }
+    
+    /**
+     * Store a re-hashed password after a successful login. The user is read again in this read-write
+     * transaction rather than reusing the principal from the read-only load.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails principal, String newPassword) {
+        User user = userRepository.findByUsername(principal.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + principal.getUsername()));
+        user.setPassword(newPassword);
+        return UserPrincipal.create(userRepository.save(user));
+    }
 }
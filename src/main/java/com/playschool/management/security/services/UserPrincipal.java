@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,7 +14,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.playschool.management.entity.User;
 
-public class UserPrincipal implements UserDetails {
+public class UserPrincipal implements UserDetails, CredentialsContainer {
 
     @Serial
     private static final long serialVersionUID = 1L;
@@ -29,8 +30,18 @@ public class UserPrincipal implements UserDetails {
     
     private Collection<? extends GrantedAuthority> authorities;
     
+    // User.rolesVersion when the authorities were read
+    private Long rolesVersion;
+    
+    private boolean enabled = true;
+    
     public UserPrincipal(Long id, String username, String email, String firstName, 
                         String lastName, String password, Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, firstName, lastName, password, authorities, null);
+    }
+    
+    public UserPrincipal(Long id, String username, String email, String firstName, String lastName,
+                        String password, Collection<? extends GrantedAuthority> authorities, Long rolesVersion) {
         this.id = id;
         this.username = username;
         this.email = email;
@@ -38,6 +49,7 @@ public class UserPrincipal implements UserDetails {
         this.lastName = lastName;
         this.password = password;
         this.authorities = authorities;
+        this.rolesVersion = rolesVersion;
     }
     
     public static UserPrincipal create(User user) {
@@ -45,15 +57,18 @@ public class UserPrincipal implements UserDetails {
                 .map(role -> new SimpleGrantedAuthority(role.getName().name()))
                 .collect(Collectors.toList());
         
-        return new UserPrincipal(
+        UserPrincipal principal = new UserPrincipal(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
                 user.getFirstName(),
                 user.getLastName(),
                 user.getPassword(),
-                authorities
+                authorities,
+                user.getRolesVersion()
         );
+        principal.enabled = !Boolean.FALSE.equals(user.getIsActive());
+        return principal;
     }
     
     @Override
@@ -88,7 +103,13 @@ public class UserPrincipal implements UserDetails {
     
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
+    }
+    
+    // Drops the password hash, for principals that are kept around after authentication
+    @Override
+    public void eraseCredentials() {
+        password = null;
     }
     
     @Override
@@ -109,4 +130,5 @@ public class UserPrincipal implements UserDetails {
     public String getEmail() { return email; }
     public String getFirstName() { return firstName; }
     public String getLastName() { return lastName; }
+    public Long getRolesVersion() { return rolesVersion; }
 }
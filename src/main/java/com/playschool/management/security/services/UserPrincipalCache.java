@@ -0,0 +1,94 @@
+package com.playschool.management.security.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.playschool.management.event.UserRolesChangedEvent;
+import com.playschool.management.event.UserStatusChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * UserPrincipal per username in front of UserDetailsServiceImpl, for requests whose token claims cannot be
+ * used on their own. Concurrent misses for one username share a single load, and entries read after
+ * jwt.principal-cache.refresh-after are reloaded in the background while the old value is still served.
+ * Login does not go through here: it needs the current password hash, and cached principals carry none.
+ */
+@Component
+public class UserPrincipalCache {
+    
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+    
+    @Autowired
+    private RoleVersionCache roleVersionCache;
+    
+    private final LoadingCache<String, UserPrincipal> principals;
+    
+    public UserPrincipalCache(@Value("${jwt.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${jwt.principal-cache.ttl:10m}") Duration ttl,
+                              @Value("${jwt.principal-cache.refresh-after:2m}") Duration refreshAfter) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(this::load);
+    }
+    
+    /**
+     * Principal of the given user, loaded on a miss. An entry older than the user's current role version
+     * (changed on another instance) is dropped and loaded again.
+     */
+    public UserPrincipal get(String username) {
+        UserPrincipal principal = principals.get(username);
+        if (principal != null && !roleVersionCache.isCurrent(principal.getId(), principal.getRolesVersion())) {
+            principals.invalidate(username);
+            principal = principals.get(username);
+        }
+        if (principal == null) {
+            throw new UsernameNotFoundException("User Not Found with username: " + username);
+        }
+        return principal;
+    }
+    
+    public CacheStats stats() {
+        return principals.stats();
+    }
+    
+    public long estimatedSize() {
+        return principals.estimatedSize();
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserRolesChanged(UserRolesChangedEvent event) {
+        invalidateUser(event.getUserId());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserStatusChanged(UserStatusChangedEvent event) {
+        invalidateUser(event.getUserId());
+    }
+    
+    // Entries are keyed by username; role and status changes are rare enough to scan for the id
+    private void invalidateUser(Long userId) {
+        principals.asMap().values().removeIf(principal -> userId.equals(principal.getId()));
+    }
+    
+    // Returning null removes the entry, so a deleted user is not kept alive by background refreshes
+    private UserPrincipal load(String username) {
+        try {
+            UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserByUsername(username);
+            principal.eraseCredentials();
+            return principal;
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+}
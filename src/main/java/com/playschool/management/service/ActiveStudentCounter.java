@@ -0,0 +1,71 @@
+package com.playschool.management.service;
+
+import com.playschool.management.event.StudentChangedEvent;
+import com.playschool.management.event.StudentsStatusChangedEvent;
+import com.playschool.management.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process count of active students. Committed writes adjust it immediately and a periodic
+ * COUNT query corrects any drift (other instances, manual SQL, races with the resync itself).
+ */
+@Component
+public class ActiveStudentCounter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ActiveStudentCounter.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private final AtomicLong count = new AtomicLong();
+    
+    private volatile boolean loaded = false;
+    
+    public long get() {
+        if (!loaded) {
+            resync();
+        }
+        return count.get();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        resync();
+    }
+    
+    @Scheduled(fixedDelayString = "${students.count.resync-interval-ms:60000}",
+               initialDelayString = "${students.count.resync-interval-ms:60000}")
+    public void resync() {
+        long actual = studentRepository.countByIsActiveTrue();
+        long previous = count.getAndSet(actual);
+        loaded = true;
+        if (previous != actual) {
+            logger.debug("Active student count resynced from {} to {}", previous, actual);
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        int delta = event.getActiveDelta();
+        if (delta != 0 && loaded) {
+            count.addAndGet(delta);
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentsStatusChanged(StudentsStatusChangedEvent event) {
+        if (loaded) {
+            count.addAndGet(event.getActiveDelta());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.playschool.management.service;
+
+import com.playschool.management.config.HibernateCacheConfig;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.playschool.management.dto.response.CacheStatsResponse;
+import com.playschool.management.security.services.UserPrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+/**
+ * Hit/miss counters of the Hibernate second-level and query caches, per region. Counters come from
+ * Hibernate statistics (hibernate.generate_statistics), entry counts from the Caffeine caches. Statistics
+ * are off by default; the response then says so and the Hibernate counters stay at zero. Also reports the
+ * principal cache used by AuthTokenFilter.
+ */
+@Service
+public class CacheStatsService {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private CacheManager hibernateCacheManager;
+    
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    
+    public CacheStatsResponse getStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setStatisticsEnabled(statistics.isStatisticsEnabled());
+        response.setSecondLevelCacheHits(statistics.getSecondLevelCacheHitCount());
+        response.setSecondLevelCacheMisses(statistics.getSecondLevelCacheMissCount());
+        response.setSecondLevelCachePuts(statistics.getSecondLevelCachePutCount());
+        response.setQueryCacheHits(statistics.getQueryCacheHitCount());
+        response.setQueryCacheMisses(statistics.getQueryCacheMissCount());
+        response.setQueryCachePuts(statistics.getQueryCachePutCount());
+        
+        for (String region : HibernateCacheConfig.regionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            response.getRegions().add(new CacheStatsResponse.RegionStats(region,
+                    regionStatistics == null ? 0 : regionStatistics.getHitCount(),
+                    regionStatistics == null ? 0 : regionStatistics.getMissCount(),
+                    regionStatistics == null ? 0 : regionStatistics.getPutCount(),
+                    estimatedSize(region)));
+        }
+        
+        CacheStats principalStats = userPrincipalCache.stats();
+        response.setPrincipalCache(new CacheStatsResponse.PrincipalCacheStats(
+                principalStats.hitCount(),
+                principalStats.missCount(),
+                principalStats.loadCount(),
+                principalStats.loadFailureCount(),
+                principalStats.averageLoadPenalty() / 1_000_000.0,
+                principalStats.evictionCount(),
+                userPrincipalCache.estimatedSize()));
+        return response;
+    }
+    
+    private long estimatedSize(String region) {
+        Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+        if (cache == null) {
+            return 0;
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+}
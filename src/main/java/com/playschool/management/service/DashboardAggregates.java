@@ -0,0 +1,352 @@
+package com.playschool.management.service;
+
+import com.playschool.management.dto.response.DashboardSummaryResponse;
+import com.playschool.management.entity.RoleName;
+import com.playschool.management.entity.Student;
+import com.playschool.management.event.StudentChangedEvent;
+import com.playschool.management.event.StudentRestoredEvent;
+import com.playschool.management.event.StudentsArchivedEvent;
+import com.playschool.management.event.StudentsStatusChangedEvent;
+import com.playschool.management.event.UserRolesChangedEvent;
+import com.playschool.management.repository.ArchivedStudentRepository;
+import com.playschool.management.repository.StudentRepository;
+import com.playschool.management.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory aggregates behind the admin dashboard summary. Committed student and user-role writes adjust
+ * them incrementally; a periodic reconcile rebuilds them from the database and corrects any drift (other
+ * instances, manual SQL, and age bands moving on at the new year).
+ *
+ * The rebuild streams the students from one repeatable-read snapshot. Student events that commit while it
+ * runs are applied to the live state and also buffered, then replayed onto the rebuilt state before it is
+ * swapped in. Replaying is idempotent (each event sets a student's entry rather than adding to a count), so
+ * an event the snapshot already includes changes nothing. User counts are read while holding the lock the
+ * role listener takes, so no role change falls between the read and the swap.
+ *
+ * One small entry per student is kept so an update can retract exactly what the previous version added.
+ * Archived students only count in total: they are inactive and never change while archived.
+ */
+@Component
+public class DashboardAggregates {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardAggregates.class);
+    
+    private static final String UNSPECIFIED = "UNSPECIFIED";
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ArchivedStudentRepository archivedStudentRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Guarded by this; replaced wholesale by reconcile()
+    private State state = new State();
+    
+    // Guarded by this; student changes seen while a reconcile is reading, null otherwise
+    private List<Consumer<State>> pending;
+    
+    // Only one reconcile reads at a time
+    private final Object reconcileLock = new Object();
+    
+    private volatile boolean loaded = false;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reconcile();
+    }
+    
+    @Scheduled(fixedDelayString = "${dashboard.reconcile-interval-ms:600000}",
+               initialDelayString = "${dashboard.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            try {
+                State fresh = readStudents();
+                synchronized (this) {
+                    readUsers(fresh);
+                    pending.forEach(change -> change.accept(fresh));
+                    if (loaded && state.active != fresh.active) {
+                        logger.debug("Dashboard active count reconciled from {} to {}", state.active, fresh.active);
+                    }
+                    state = fresh;
+                    loaded = true;
+                }
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+    }
+    
+    public DashboardSummaryResponse getSummary() {
+        if (!loaded) {
+            reconcile();
+        }
+        LocalDate today = LocalDate.now();
+        DashboardSummaryResponse summary = new DashboardSummaryResponse();
+        synchronized (this) {
+            summary.setActiveStudents(state.active);
+            summary.setInactiveStudents(state.students.size() - state.active + state.archived);
+            summary.setArchivedStudents(state.archived);
+            
+            Map<String, Map<String, Long>> bands = new TreeMap<>();
+            state.byAgeBandAndGender.forEach((band, genders) -> bands.put(band, new TreeMap<>(genders)));
+            summary.setActiveStudentsByAgeBandAndGender(bands);
+            
+            Map<String, Long> months = new LinkedHashMap<>();
+            state.enrollmentsByMonth.forEach((month, count) -> months.put(month.toString(), count));
+            summary.setEnrollmentsByMonth(months);
+            
+            Map<String, Long> roles = new LinkedHashMap<>();
+            for (RoleName roleName : RoleName.values()) {
+                roles.put(roleName.name(), state.usersByRole.getOrDefault(roleName, 0L));
+            }
+            summary.setUsersByRole(roles);
+            
+            summary.setStudentsRegisteredToday(state.studentRegistrationsByDay.getOrDefault(today, 0L));
+            summary.setUsersRegisteredToday(state.userRegistrationsByDay.getOrDefault(today, 0L));
+            summary.setReconciledAt(state.reconciledAt);
+        }
+        return summary;
+    }
+    
+    /**
+     * Hot and archived students from one snapshot, so an archive or restore is seen on exactly one side.
+     * Not marked read-only: a lagging replica could miss writes committed before buffering started.
+     */
+    private State readStudents() {
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return snapshot.execute(status -> {
+            State fresh = new State();
+            try (Stream<StudentRepository.StudentFactsView> views = studentRepository.streamFactsViews()) {
+                views.forEach(view -> {
+                    StudentFacts facts = new StudentFacts(view.getId(), view.getDateOfBirth(), view.getGender(),
+                            view.getEnrollmentDate(), view.getCreatedAt(), Boolean.TRUE.equals(view.getIsActive()));
+                    fresh.students.put(facts.id, facts);
+                    fresh.add(facts, 1);
+                });
+            }
+            fresh.archived = archivedStudentRepository.count();
+            for (ArchivedStudentRepository.MonthCount count : archivedStudentRepository.countEnrollmentsByMonth()) {
+                adjust(fresh.enrollmentsByMonth, YearMonth.of(count.getYear(), count.getMonth()), count.getStudents());
+            }
+            return fresh;
+        });
+    }
+    
+    // Called holding this, so onUserRolesChanged cannot run between these counts and the swap
+    private void readUsers(State fresh) {
+        LocalDate today = LocalDate.now();
+        for (UserRepository.RoleCount count : userRepository.countUsersByRole()) {
+            fresh.usersByRole.put(count.getRoleName(), count.getUsers());
+        }
+        long usersToday = userRepository.countByCreatedAtGreaterThanEqual(today.atStartOfDay());
+        if (usersToday > 0) {
+            fresh.userRegistrationsByDay.put(today, usersToday);
+        }
+        fresh.reconciledAt = LocalDateTime.now();
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        Student student = event.getStudent();
+        StudentFacts facts = new StudentFacts(student.getId(), student.getDateOfBirth(), student.getGender(),
+                student.getEnrollmentDate(), student.getCreatedAt(), event.isActive());
+        apply(target -> {
+            StudentFacts previous = target.students.put(facts.id, facts);
+            if (previous != null) {
+                target.add(previous, -1);
+            }
+            target.add(facts, 1);
+        });
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentsStatusChanged(StudentsStatusChangedEvent event) {
+        apply(target -> {
+            for (Long id : event.getStudentIds()) {
+                StudentFacts previous = target.students.get(id);
+                if (previous != null && previous.active != event.isActive()) {
+                    StudentFacts facts = previous.withActive(event.isActive());
+                    target.students.put(id, facts);
+                    target.add(previous, -1);
+                    target.add(facts, 1);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Archived rows leave the per-student map but keep what they added (inactive, so only their
+     * enrolment month and registration day), now counted as archived
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentsArchived(StudentsArchivedEvent event) {
+        apply(target -> {
+            for (Long id : event.getStudentIds()) {
+                if (target.students.remove(id) != null) {
+                    target.archived++;
+                }
+            }
+        });
+    }
+    
+    // The reverse: its contributions are still counted, so only the entry comes back
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentRestored(StudentRestoredEvent event) {
+        Student student = event.getStudent();
+        StudentFacts facts = new StudentFacts(student.getId(), student.getDateOfBirth(), student.getGender(),
+                student.getEnrollmentDate(), student.getCreatedAt(), false);
+        apply(target -> {
+            if (target.students.putIfAbsent(facts.id, facts) == null) {
+                target.archived--;
+            }
+        });
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onUserRolesChanged(UserRolesChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        event.getPreviousRoles().forEach(roleName -> adjust(state.usersByRole, roleName, -1));
+        event.getRoles().forEach(roleName -> adjust(state.usersByRole, roleName, 1));
+        if (event.isRegistered()) {
+            adjust(state.userRegistrationsByDay, LocalDate.now(), 1);
+        }
+    }
+    
+    /**
+     * Apply a student change to the live state, and keep it for the rebuilt one while a reconcile runs
+     */
+    private synchronized void apply(Consumer<State> change) {
+        if (pending != null) {
+            pending.add(change);
+        }
+        if (loaded) {
+            change.accept(state);
+        }
+    }
+    
+    /**
+     * Add (sign 1) or drop (sign -1) a count, removing keys that reach zero
+     */
+    private static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+        counts.merge(key, delta, (current, change) -> current + change == 0 ? null : current + change);
+    }
+    
+    /**
+     * Same yearly age as StudentSummaryResponse.getAge, bucketed for a playschool roster
+     */
+    private static String ageBand(LocalDate dateOfBirth) {
+        if (dateOfBirth == null) {
+            return UNSPECIFIED;
+        }
+        int age = LocalDate.now().getYear() - dateOfBirth.getYear();
+        if (age <= 1) {
+            return "1";
+        }
+        return age >= 6 ? "6+" : Integer.toString(age);
+    }
+    
+    private static String genderKey(String gender) {
+        return gender == null || gender.isBlank() ? UNSPECIFIED : gender.trim().toUpperCase(Locale.ROOT);
+    }
+    
+    private static final class State {
+        
+        private final Map<Long, StudentFacts> students = new HashMap<>();
+        private long active;
+        private long archived;
+        private final Map<String, Map<String, Long>> byAgeBandAndGender = new HashMap<>();
+        private final Map<YearMonth, Long> enrollmentsByMonth = new TreeMap<>();
+        private final Map<LocalDate, Long> studentRegistrationsByDay = new HashMap<>();
+        private final Map<RoleName, Long> usersByRole = new EnumMap<>(RoleName.class);
+        private final Map<LocalDate, Long> userRegistrationsByDay = new HashMap<>();
+        private LocalDateTime reconciledAt;
+        
+        private void add(StudentFacts facts, int sign) {
+            if (facts.active) {
+                active += sign;
+                Map<String, Long> genders = byAgeBandAndGender.computeIfAbsent(facts.ageBand, band -> new HashMap<>());
+                adjust(genders, facts.gender, sign);
+                if (genders.isEmpty()) {
+                    byAgeBandAndGender.remove(facts.ageBand);
+                }
+            }
+            if (facts.enrolled != null) {
+                adjust(enrollmentsByMonth, facts.enrolled, sign);
+            }
+            if (facts.created != null) {
+                adjust(studentRegistrationsByDay, facts.created, sign);
+            }
+        }
+    }
+    
+    private static final class StudentFacts {
+        
+        private final Long id;
+        private final String ageBand;
+        private final String gender;
+        private final YearMonth enrolled;
+        private final LocalDate created;
+        private final boolean active;
+        
+        private StudentFacts(Long id, LocalDate dateOfBirth, String gender, LocalDate enrollmentDate,
+                             LocalDateTime createdAt, boolean active) {
+            this(id, ageBand(dateOfBirth), genderKey(gender),
+                    enrollmentDate == null ? null : YearMonth.from(enrollmentDate),
+                    createdAt == null ? null : createdAt.toLocalDate(), active);
+        }
+        
+        private StudentFacts(Long id, String ageBand, String gender, YearMonth enrolled, LocalDate created,
+                             boolean active) {
+            this.id = id;
+            this.ageBand = ageBand;
+            this.gender = gender;
+            this.enrolled = enrolled;
+            this.created = created;
+            this.active = active;
+        }
+        
+        private StudentFacts withActive(boolean active) {
+            return new StudentFacts(id, ageBand, gender, enrolled, created, active);
+        }
+    }
+}
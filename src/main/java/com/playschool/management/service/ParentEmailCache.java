@@ -0,0 +1,98 @@
+package com.playschool.management.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.playschool.management.entity.Student;
+import com.playschool.management.event.StudentChangedEvent;
+import com.playschool.management.event.StudentsArchivedEvent;
+import com.playschool.management.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Normalized parent email -> ids of that parent's students, in (lastName, firstName, id) order. Drop-off
+ * lookups then only need the students themselves, which usually come from the second-level cache.
+ * A reverse id -> email index of the cached entries lets committed student writes and archiving invalidate
+ * exactly the entries they affect, including the one a student moved away from. Writes made on other
+ * instances are not seen here: their results can be stale for up to students.parent-email-cache.ttl.
+ */
+@Component
+public class ParentEmailCache {
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private final Cache<String, List<Long>> cache;
+    
+    // Student id -> the cached email entry that lists it
+    private final Map<Long, String> emailById = new ConcurrentHashMap<>();
+    
+    public ParentEmailCache(@Value("${students.parent-email-cache.max-size:5000}") long maxSize,
+                            @Value("${students.parent-email-cache.ttl:2m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(Runnable::run)
+                .removalListener(this::onRemoval)
+                .build();
+    }
+    
+    /**
+     * Student ids for an already normalized email (see Student.normalizeEmail)
+     */
+    public List<Long> getStudentIds(String normalizedEmail) {
+        if (normalizedEmail == null) {
+            return List.of();
+        }
+        return cache.get(normalizedEmail, email -> {
+            List<Long> ids = List.copyOf(studentRepository.findIdsByParentEmailNormalized(email));
+            ids.forEach(id -> emailById.put(id, email));
+            return ids;
+        });
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        Student student = event.getStudent();
+        String email = Student.normalizeEmail(student.getParentEmail());
+        if (email != null) {
+            cache.invalidate(email);
+        }
+        // The student may have moved away from another parent email (or changed name, and so position)
+        invalidateEntryOf(student.getId());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentsArchived(StudentsArchivedEvent event) {
+        event.getStudentIds().forEach(this::invalidateEntryOf);
+    }
+    
+    private void invalidateEntryOf(Long studentId) {
+        String email = emailById.remove(studentId);
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+    
+    // Runs on the removing thread; an entry reloaded in the meantime keeps its reverse mappings
+    private void onRemoval(String email, List<Long> ids, RemovalCause cause) {
+        if (email == null || ids == null) {
+            return;
+        }
+        List<Long> current = cache.getIfPresent(email);
+        for (Long id : ids) {
+            if (current == null || !current.contains(id)) {
+                emailById.remove(id, email);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.playschool.management.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PostgreSQL backend for name search: trigram GIN indexes on lower(first_name) and lower(last_name)
+ * let the database serve the LIKE '%...%' predicate, and similarity() ranks the hits.
+ * Enable with students.search.backend=pg-trgm (the pg_trgm extension must be installable).
+ */
+@Component
+@ConditionalOnProperty(name = "students.search.backend", havingValue = "pg-trgm")
+public class PgTrgmStudentNameIndex implements StudentNameIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PgTrgmStudentNameIndex.class);
+    
+    private static final String SEARCH_SQL =
+            "SELECT s.id FROM students s " +
+            "WHERE lower(s.first_name) LIKE ? ESCAPE '\\' OR lower(s.last_name) LIKE ? ESCAPE '\\' " +
+            "ORDER BY greatest(similarity(lower(s.first_name), ?), similarity(lower(s.last_name), ?)) DESC, " +
+            "s.last_name, s.first_name, s.id " +
+            "LIMIT ? OFFSET ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_students_first_name_trgm "
+                + "ON students USING gin (lower(first_name) gin_trgm_ops)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_students_last_name_trgm "
+                + "ON students USING gin (lower(last_name) gin_trgm_ops)");
+        logger.info("pg_trgm name search indexes are in place");
+    }
+    
+    @Override
+    public List<Long> search(String query, int offset, int limit) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (q.length() < MIN_QUERY_LENGTH || limit <= 0) {
+            return List.of();
+        }
+        String pattern = "%" + escapeLike(q) + "%";
+        return jdbcTemplate.queryForList(SEARCH_SQL, Long.class, pattern, pattern, q, q, limit, offset);
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
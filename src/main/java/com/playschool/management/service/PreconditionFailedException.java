@@ -0,0 +1,11 @@
+package com.playschool.management.service;
+
+/**
+ * Thrown when an If-Match precondition no longer holds because the student was modified in the meantime
+ */
+public class PreconditionFailedException extends RuntimeException {
+    
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,192 @@
+package com.playschool.management.service;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Compact radix trie mapping lowercase terms to student IDs. Edges carry whole substrings and
+ * children are kept in sorted parallel arrays, so a node costs a few small arrays rather than a map.
+ * Not thread-safe; StudentSuggestIndex guards it with a read/write lock.
+ */
+class RadixTrie {
+    
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+    
+    private static final class Node {
+        String label;
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        long[] ids = NO_IDS;
+        
+        Node(String label) {
+            this.label = label;
+        }
+    }
+    
+    private final Node root = new Node("");
+    
+    void add(String term, long id) {
+        Node node = root;
+        int i = 0;
+        while (i < term.length()) {
+            int idx = Arrays.binarySearch(node.keys, term.charAt(i));
+            if (idx < 0) {
+                Node leaf = new Node(term.substring(i));
+                leaf.ids = new long[] { id };
+                insertChild(node, -idx - 1, leaf);
+                return;
+            }
+            
+            Node child = node.children[idx];
+            int common = commonPrefix(child.label, term, i);
+            if (common < child.label.length()) {
+                // Split the edge so the shared part becomes its own node
+                Node mid = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                mid.keys = new char[] { child.label.charAt(0) };
+                mid.children = new Node[] { child };
+                node.children[idx] = mid;
+                child = mid;
+            }
+            node = child;
+            i += common;
+        }
+        node.ids = addId(node.ids, id);
+    }
+    
+    void remove(String term, long id) {
+        remove(root, term, 0, id);
+    }
+    
+    /**
+     * Collect IDs under the given prefix in lexicographic term order, stopping once {@code limit} distinct IDs are found
+     */
+    void collect(String prefix, int limit, Set<Long> out) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int idx = Arrays.binarySearch(node.keys, prefix.charAt(i));
+            if (idx < 0) {
+                return;
+            }
+            Node child = node.children[idx];
+            int n = Math.min(child.label.length(), prefix.length() - i);
+            if (!child.label.regionMatches(0, prefix, i, n)) {
+                return;
+            }
+            node = child;
+            i += n;
+        }
+        collect(node, limit, out);
+    }
+    
+    private void collect(Node node, int limit, Set<Long> out) {
+        for (long id : node.ids) {
+            if (out.size() >= limit) {
+                return;
+            }
+            out.add(id);
+        }
+        for (Node child : node.children) {
+            if (out.size() >= limit) {
+                return;
+            }
+            collect(child, limit, out);
+        }
+    }
+    
+    /**
+     * Returns true when the node became empty and should be unlinked by its parent
+     */
+    private boolean remove(Node node, String term, int i, long id) {
+        if (i == term.length()) {
+            node.ids = removeId(node.ids, id);
+        } else {
+            int idx = Arrays.binarySearch(node.keys, term.charAt(i));
+            if (idx < 0) {
+                return false;
+            }
+            Node child = node.children[idx];
+            if (!term.startsWith(child.label, i)) {
+                return false;
+            }
+            if (remove(child, term, i + child.label.length(), id)) {
+                removeChild(node, idx);
+            } else if (child.ids.length == 0 && child.children.length == 1) {
+                // Re-merge a pass-through node with its only child
+                Node grandchild = child.children[0];
+                grandchild.label = child.label + grandchild.label;
+                node.children[idx] = grandchild;
+            }
+        }
+        return node != root && node.ids.length == 0 && node.children.length == 0;
+    }
+    
+    private static int commonPrefix(String label, String term, int offset) {
+        int max = Math.min(label.length(), term.length() - offset);
+        int n = 0;
+        while (n < max && label.charAt(n) == term.charAt(offset + n)) {
+            n++;
+        }
+        return n;
+    }
+    
+    private static void insertChild(Node node, int at, Node child) {
+        int size = node.keys.length;
+        char[] keys = new char[size + 1];
+        Node[] children = new Node[size + 1];
+        System.arraycopy(node.keys, 0, keys, 0, at);
+        System.arraycopy(node.children, 0, children, 0, at);
+        keys[at] = child.label.charAt(0);
+        children[at] = child;
+        System.arraycopy(node.keys, at, keys, at + 1, size - at);
+        System.arraycopy(node.children, at, children, at + 1, size - at);
+        node.keys = keys;
+        node.children = children;
+    }
+    
+    private static void removeChild(Node node, int at) {
+        int size = node.keys.length;
+        if (size == 1) {
+            node.keys = NO_KEYS;
+            node.children = NO_CHILDREN;
+            return;
+        }
+        char[] keys = new char[size - 1];
+        Node[] children = new Node[size - 1];
+        System.arraycopy(node.keys, 0, keys, 0, at);
+        System.arraycopy(node.children, 0, children, 0, at);
+        System.arraycopy(node.keys, at + 1, keys, at, size - at - 1);
+        System.arraycopy(node.children, at + 1, children, at, size - at - 1);
+        node.keys = keys;
+        node.children = children;
+    }
+    
+    private static long[] addId(long[] ids, long id) {
+        for (long existing : ids) {
+            if (existing == id) {
+                return ids;
+            }
+        }
+        long[] grown = Arrays.copyOf(ids, ids.length + 1);
+        grown[ids.length] = id;
+        return grown;
+    }
+    
+    private static long[] removeId(long[] ids, long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                if (ids.length == 1) {
+                    return NO_IDS;
+                }
+                long[] shrunk = new long[ids.length - 1];
+                System.arraycopy(ids, 0, shrunk, 0, i);
+                System.arraycopy(ids, i + 1, shrunk, i, ids.length - i - 1);
+                return shrunk;
+            }
+        }
+        return ids;
+    }
+}
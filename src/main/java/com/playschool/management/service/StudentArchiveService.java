@@ -0,0 +1,81 @@
+package com.playschool.management.service;
+
+import com.playschool.management.dto.response.BulkOperationResponse;
+import com.playschool.management.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the students table hot: students inactive for longer than students.archive.inactive-days move to
+ * students_archive, chunk by chunk. StudentService falls back to the archive for reads by id and for
+ * reactivation, which moves the row back.
+ */
+@Service
+public class StudentArchiveService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentArchiveService.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private StudentArchiveWriter studentArchiveWriter;
+    
+    @Value("${students.archive.inactive-days:365}")
+    private int inactiveDays;
+    
+    @Value("${students.archive.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${students.archive.enabled:true}")
+    private boolean archiveEnabled;
+    
+    /**
+     * Archive every student deactivated (and not updated since) more than inactiveDays ago
+     */
+    public BulkOperationResponse archive() {
+        long started = System.currentTimeMillis();
+        LocalDateTime inactiveBefore = LocalDateTime.now().minusDays(inactiveDays);
+        long affected = 0;
+        int chunks = 0;
+        
+        // Walk candidates in id order; skipped rows (reactivated meanwhile) are not read again
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = studentRepository.findIdsToArchive(inactiveBefore, afterId, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            affected += studentArchiveWriter.archiveChunk(ids, inactiveBefore);
+            chunks++;
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        
+        long elapsed = System.currentTimeMillis() - started;
+        logger.info("Student archive: {} rows in {} chunks, {} ms", affected, chunks, elapsed);
+        return new BulkOperationResponse("archive", affected, chunks, elapsed);
+    }
+    
+    @Scheduled(cron = "${students.archive.cron:0 0 3 * * *}")
+    public void scheduledArchive() {
+        if (!archiveEnabled) {
+            return;
+        }
+        try {
+            archive();
+        } catch (Exception e) {
+            logger.error("Student archive job failed", e);
+        }
+    }
+}
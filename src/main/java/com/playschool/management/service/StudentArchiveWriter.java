@@ -0,0 +1,36 @@
+package com.playschool.management.service;
+
+import com.playschool.management.event.StudentsArchivedEvent;
+import com.playschool.management.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves one chunk of the archive job in its own short transaction, like StudentBulkStatusWriter.
+ */
+@Component
+public class StudentArchiveWriter {
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Archive the given candidates that are still inactive since before the cutoff. Returns the number moved.
+     */
+    @Transactional
+    public int archiveChunk(List<Long> ids, LocalDateTime inactiveBefore) {
+        List<Long> archived = studentRepository.archiveInactive(ids, inactiveBefore);
+        if (!archived.isEmpty()) {
+            eventPublisher.publishEvent(new StudentsArchivedEvent(archived));
+        }
+        return archived.size();
+    }
+}
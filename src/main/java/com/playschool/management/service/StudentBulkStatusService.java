@@ -0,0 +1,115 @@
+package com.playschool.management.service;
+
+import com.playschool.management.dto.request.BulkStatusRequest;
+import com.playschool.management.dto.response.BulkOperationResponse;
+import com.playschool.management.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * End-of-year style lifecycle changes over many students: deactivate/reactivate by ids or criteria and
+ * the nightly age-out. Candidate ids are read in id order one chunk at a time and each chunk is changed
+ * with a single UPDATE by StudentBulkStatusWriter.
+ */
+@Service
+public class StudentBulkStatusService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentBulkStatusService.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private StudentBulkStatusWriter studentBulkStatusWriter;
+    
+    @Value("${students.bulk.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${students.age-out.max-age:6}")
+    private int maxAge;
+    
+    @Value("${students.age-out.enabled:true}")
+    private boolean ageOutEnabled;
+    
+    public BulkOperationResponse deactivate(BulkStatusRequest request) {
+        return changeStatus("deactivate", request, false);
+    }
+    
+    public BulkOperationResponse reactivate(BulkStatusRequest request) {
+        return changeStatus("reactivate", request, true);
+    }
+    
+    /**
+     * Deactivate active students past the playschool age limit. Age follows StudentService's rule
+     * (current year minus birth year), so anyone born before 1 January of (this year - maxAge) is too old.
+     */
+    public BulkOperationResponse ageOut() {
+        LocalDate cutoff = LocalDate.of(LocalDate.now().getYear() - maxAge, 1, 1);
+        return changeStatus("age-out", new BulkStatusRequest(null, cutoff, null), false);
+    }
+    
+    @Scheduled(cron = "${students.age-out.cron:0 30 2 * * *}")
+    public void scheduledAgeOut() {
+        if (!ageOutEnabled) {
+            return;
+        }
+        try {
+            ageOut();
+        } catch (Exception e) {
+            logger.error("Student age-out job failed", e);
+        }
+    }
+    
+    private BulkOperationResponse changeStatus(String operation, BulkStatusRequest request, boolean active) {
+        if (request == null || !request.hasFilter()) {
+            throw new IllegalArgumentException("Provide ids, dateOfBirthBefore or enrollmentDateBefore");
+        }
+        long started = System.currentTimeMillis();
+        long affected = 0;
+        int chunks = 0;
+        
+        List<Long> requestedIds = request.getIds() == null || request.getIds().isEmpty()
+                ? null
+                : request.getIds().stream().distinct().sorted().toList();
+        
+        if (requestedIds != null) {
+            // Explicit ids: each slice of the list is narrowed by the criteria and the current status
+            for (int from = 0; from < requestedIds.size(); from += chunkSize) {
+                List<Long> slice = requestedIds.subList(from, Math.min(from + chunkSize, requestedIds.size()));
+                List<Long> ids = studentRepository.findIdsForStatusChange(!active, slice,
+                        request.getDateOfBirthBefore(), request.getEnrollmentDateBefore(), 0L, chunkSize);
+                if (!ids.isEmpty()) {
+                    affected += studentBulkStatusWriter.updateChunk(ids, active);
+                    chunks++;
+                }
+            }
+        } else {
+            // Criteria only: walk the matching rows in id order; changed rows drop out of the next read
+            long afterId = 0L;
+            while (true) {
+                List<Long> ids = studentRepository.findIdsForStatusChange(!active, null,
+                        request.getDateOfBirthBefore(), request.getEnrollmentDateBefore(), afterId, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                affected += studentBulkStatusWriter.updateChunk(ids, active);
+                chunks++;
+                afterId = ids.get(ids.size() - 1);
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+            }
+        }
+        
+        long elapsed = System.currentTimeMillis() - started;
+        logger.info("Student bulk {}: {} rows in {} chunks, {} ms", operation, affected, chunks, elapsed);
+        return new BulkOperationResponse(operation, affected, chunks, elapsed);
+    }
+}
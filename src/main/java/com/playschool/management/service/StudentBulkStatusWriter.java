@@ -0,0 +1,41 @@
+package com.playschool.management.service;
+
+import com.playschool.management.event.StudentsStatusChangedEvent;
+import com.playschool.management.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Commits one chunk of a bulk status change in its own short transaction, so a large run never holds
+ * row locks on the whole table and a failure only rolls back the chunk in progress.
+ */
+@Component
+public class StudentBulkStatusWriter {
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Set the status of the given students with one UPDATE; rows already in that status are skipped.
+     * The rows to change are locked first, so the event names exactly the students that changed.
+     * Returns the number of rows changed.
+     */
+    @Transactional
+    public int updateChunk(List<Long> ids, boolean active) {
+        List<Long> changing = studentRepository.lockIdsNotInStatus(ids, active);
+        if (changing.isEmpty()) {
+            return 0;
+        }
+        int updated = studentRepository.updateActiveStatus(changing, active, LocalDateTime.now());
+        eventPublisher.publishEvent(new StudentsStatusChangedEvent(changing, active, updated));
+        return updated;
+    }
+}
@@ -0,0 +1,70 @@
+package com.playschool.management.service;
+
+import com.playschool.management.entity.StudentChangeCounter;
+import com.playschool.management.event.StudentChangedEvent;
+import com.playschool.management.event.StudentDetailsUpdatedEvent;
+import com.playschool.management.event.StudentRestoredEvent;
+import com.playschool.management.event.StudentsArchivedEvent;
+import com.playschool.management.event.StudentsStatusChangedEvent;
+import com.playschool.management.repository.StudentChangeCounterRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Version of the student collection for conditional GETs. Every transaction that publishes a student
+ * change event bumps student_change_counter once, just before it commits: the new value becomes visible
+ * atomically with the rows, unlike MAX(updated_at), which is stamped before commit and so can miss a
+ * write that commits after a later-stamped one. The row lock is held only for the commit itself.
+ */
+@Component
+public class StudentChangeVersion {
+    
+    @Autowired
+    private StudentChangeCounterRepository counterRepository;
+    
+    @PostConstruct
+    public void ensureCounter() {
+        if (counterRepository.existsById(StudentChangeCounter.ID)) {
+            return;
+        }
+        try {
+            counterRepository.save(new StudentChangeCounter(StudentChangeCounter.ID));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created it first
+        }
+    }
+    
+    public long get() {
+        return counterRepository.findChangeCount().orElse(0L);
+    }
+    
+    @EventListener({StudentChangedEvent.class, StudentDetailsUpdatedEvent.class, StudentsStatusChangedEvent.class,
+            StudentsArchivedEvent.class, StudentRestoredEvent.class})
+    public void onStudentsWritten() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counterRepository.increment();
+            return;
+        }
+        // One bump per transaction, however many events it publishes
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                counterRepository.increment();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StudentChangeVersion.this);
+            }
+        });
+    }
+}
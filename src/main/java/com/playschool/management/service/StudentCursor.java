@@ -0,0 +1,76 @@
+package com.playschool.management.service;
+
+import com.playschool.management.dto.response.StudentSummaryResponse;
+import com.playschool.management.entity.Student;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Keyset position in the (lastName, firstName, id) ordering used by the student list endpoints.
+ * Clients only ever see the opaque token produced by {@link #encode()}.
+ */
+public class StudentCursor {
+    
+    private static final char SEPARATOR = '\u0000';
+    
+    /**
+     * Position before every row: all names compare greater than or equal to "" and ids start at 1
+     */
+    public static final StudentCursor START = new StudentCursor("", "", 0L);
+    
+    /**
+     * The same ordering in memory, for pages cut from an already loaded list
+     */
+    public static final Comparator<StudentCursor> ORDER = Comparator.comparing(StudentCursor::getLastName)
+            .thenComparing(StudentCursor::getFirstName)
+            .thenComparing(StudentCursor::getId);
+    
+    private final String lastName;
+    private final String firstName;
+    private final Long id;
+    
+    public StudentCursor(String lastName, String firstName, Long id) {
+        this.lastName = lastName;
+        this.firstName = firstName;
+        this.id = id;
+    }
+    
+    public static StudentCursor after(Student student) {
+        return new StudentCursor(student.getLastName(), student.getFirstName(), student.getId());
+    }
+    
+    public static StudentCursor after(StudentSummaryResponse summary) {
+        return new StudentCursor(summary.getLastName(), summary.getFirstName(), summary.getId());
+    }
+    
+    /**
+     * Decode a token from a previous page, or return START when no token was sent
+     */
+    public static StudentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new StudentCursor(parts[0], parts[1], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // Covers bad base64 as well as NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    public String encode() {
+        String raw = lastName + SEPARATOR + firstName + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public String getLastName() { return lastName; }
+    public String getFirstName() { return firstName; }
+    public Long getId() { return id; }
+}
@@ -0,0 +1,79 @@
+package com.playschool.management.service;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strong entity tags for student resources, computed from version stamps rather than response bodies
+ * so a matching If-None-Match can be answered without loading or serializing anything.
+ */
+public final class StudentETags {
+    
+    private StudentETags() {}
+    
+    /**
+     * Tag for one student: id plus its optimistic lock version.
+     * The variant (e.g. the requested fields) distinguishes different representations of the same row.
+     */
+    public static String forStudent(Long id, Long version, String variant) {
+        return quote(id + "-" + version + variantSuffix(variant));
+    }
+    
+    /**
+     * The version a full-representation tag of this student was issued for, or null if the tag is not one
+     */
+    public static Long versionOf(String tag, Long id) {
+        if (tag == null) {
+            return null;
+        }
+        String value = tag.trim();
+        if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            return null;
+        }
+        String[] parts = value.substring(1, value.length() - 1).split("-");
+        if (parts.length != 2 || !parts[0].equals(String.valueOf(id))) {
+            return null;
+        }
+        try {
+            return Long.valueOf(parts[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Tag for a collection: the committed change count of the students table (see StudentChangeVersion).
+     * The variant carries the query parameters that shape the page.
+     */
+    public static String forCollection(long changeCount, String variant) {
+        return quote("c" + changeCount + variantSuffix(variant));
+    }
+    
+    /**
+     * Strong comparison of an If-Match header against the current tag ("*" matches any existing resource)
+     */
+    public static boolean matches(String ifMatch, String currentTag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String variantSuffix(String variant) {
+        if (variant == null || variant.isEmpty()) {
+            return "";
+        }
+        return "-" + DigestUtils.md5DigestAsHex(variant.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+    }
+    
+    private static String quote(String value) {
+        return '"' + value + '"';
+    }
+}
@@ -0,0 +1,278 @@
+package com.playschool.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.dto.response.StudentSummaryResponse;
+import com.playschool.management.event.StudentChangedEvent;
+import com.playschool.management.event.StudentDetailsUpdatedEvent;
+import com.playschool.management.event.StudentsStatusChangedEvent;
+import com.playschool.management.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events feed of committed student changes for dashboards.
+ *
+ * Every event is serialized once and appended to a bounded ring buffer, so a client reconnecting with
+ * Last-Event-ID gets what it missed. Each subscriber has its own bounded queue drained by a small shared
+ * pool; a subscriber whose queue fills up is disconnected rather than allowed to hold events in memory.
+ * When the gap cannot be replayed the client gets a "reset" event and should reload the roster.
+ */
+@Component
+public class StudentEventStream {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentEventStream.class);
+    
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DEACTIVATED = "deactivated";
+    public static final String RESET = "reset";
+    
+    private static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${students.stream.replay-size:1000}")
+    private int replaySize;
+    
+    @Value("${students.stream.client-buffer:256}")
+    private int clientBuffer;
+    
+    @Value("${students.stream.max-clients:500}")
+    private int maxClients;
+    
+    @Value("${students.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    @Value("${students.stream.dispatch-threads:4}")
+    private int dispatchThreads;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    // Guarded by this
+    private StreamEvent[] ring;
+    private long lastId = 0;
+    
+    private ExecutorService dispatcher;
+    
+    @PostConstruct
+    public void start() {
+        ring = new StreamEvent[replaySize];
+        AtomicInteger threads = new AtomicInteger();
+        dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "student-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+    
+    /**
+     * Open a stream. Events after lastEventId (the Last-Event-ID header, may be null) are replayed first.
+     *
+     * @throws IllegalStateException when the subscriber limit is reached
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxClients) {
+            throw new IllegalStateException("Too many open student streams");
+        }
+        
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, clientBuffer);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        
+        // Replay and registration happen under the same lock as publishing, so nothing is missed or doubled
+        synchronized (this) {
+            replayInto(subscriber, lastEventId);
+            subscribers.add(subscriber);
+        }
+        // Commits the response headers right away so the browser sees the stream as open
+        enqueue(subscriber, HEARTBEAT);
+        return emitter;
+    }
+    
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        String name = switch (event.getType()) {
+            case CREATED -> CREATED;
+            case DEACTIVATED -> DEACTIVATED;
+            case UPDATED, REACTIVATED -> UPDATED;
+        };
+        publish(name, StudentSummaryResponse.fromStudent(event.getStudent()));
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentDetailsUpdated(StudentDetailsUpdatedEvent event) {
+        studentRepository.findSummariesByIdIn(List.of(event.getStudentId())).forEach(summary -> publish(UPDATED, summary));
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentsStatusChanged(StudentsStatusChangedEvent event) {
+        if (event.getUpdatedRows() == 0) {
+            return;
+        }
+        String name = event.isActive() ? UPDATED : DEACTIVATED;
+        studentRepository.findSummariesByIdIn(event.getStudentIds()).forEach(summary -> publish(name, summary));
+    }
+    
+    /**
+     * Keeps idle connections (and any proxy in between) from timing out, and finds dead clients
+     */
+    @Scheduled(fixedDelayString = "${students.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT));
+    }
+    
+    private void publish(String name, StudentSummaryResponse payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize stream event for student {}", payload.getId(), e);
+            return;
+        }
+        
+        synchronized (this) {
+            StreamEvent event = new StreamEvent(++lastId, name, data);
+            ring[(int) (event.id % ring.length)] = event;
+            subscribers.forEach(subscriber -> enqueue(subscriber, event));
+        }
+    }
+    
+    private void replayInto(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            after = -1;
+        }
+        
+        long oldest = Math.max(1, lastId - ring.length + 1);
+        long missed = lastId - after;
+        // Ids from before a restart, evicted from the ring or too many to queue cannot be replayed
+        if (after < oldest - 1 || missed < 0 || missed >= clientBuffer) {
+            subscriber.queue.offer(new StreamEvent(lastId, RESET, "{\"lastEventId\":" + lastId + "}"));
+            return;
+        }
+        for (long id = after + 1; id <= lastId; id++) {
+            subscriber.queue.offer(ring[(int) (id % ring.length)]);
+        }
+    }
+    
+    private void enqueue(Subscriber subscriber, StreamEvent event) {
+        if (!subscriber.queue.offer(event)) {
+            drop(subscriber, "buffer full");
+            return;
+        }
+        schedule(subscriber);
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        try {
+            StreamEvent event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(toSse(event));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (or the emitter already completed)
+            drop(subscriber, "send failed");
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+    
+    private void drop(Subscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            logger.debug("Dropping student stream subscriber: {}", reason);
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+    
+    private static SseEmitter.SseEventBuilder toSse(StreamEvent event) {
+        if (event.name == null) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return SseEmitter.event().id(Long.toString(event.id)).name(event.name).data(event.data);
+    }
+    
+    private static final class StreamEvent {
+        
+        private final long id;
+        private final String name;
+        private final String data;
+        
+        private StreamEvent(long id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+    
+    private static final class Subscriber {
+        
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.playschool.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.dto.response.StudentResponse;
+import com.playschool.management.entity.Student;
+import com.playschool.management.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the active roster straight from a database cursor to an output stream, one row at a time.
+ */
+@Service
+public class StudentExportService {
+    
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+        
+        public static Format fromParam(String value) {
+            if (value == null || value.isBlank()) {
+                return NDJSON;
+            }
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+    
+    private static final String[] CSV_HEADER = {
+        "id", "firstName", "lastName", "dateOfBirth", "gender", "address", "parentName", "parentPhone",
+        "parentEmail", "emergencyContact", "emergencyPhone", "medicalInfo", "allergies", "enrollmentDate",
+        "isActive", "createdAt", "updatedAt"
+    };
+    
+    // Rows written between explicit flushes so the client sees steady progress
+    private static final int FLUSH_EVERY = 500;
+    
+    private static final int FETCH_SIZE = 500;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Stream every active student to the given output. Must run inside a transaction so the JDBC cursor
+     * stays open; rows come from a StatelessSession, so nothing is retained once written.
+     */
+    @Transactional(readOnly = true)
+    public long exportActiveStudents(OutputStream out, Format format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        
+        if (format == Format.CSV) {
+            writeCsvLine(writer, CSV_HEADER);
+        }
+        
+        try (Stream<Student> students = studentRepository.streamActiveStudentsStateless(FETCH_SIZE)) {
+            Iterator<Student> iterator = students.iterator();
+            while (iterator.hasNext()) {
+                Student student = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, toCsvRow(student));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(StudentResponse.fromStudent(student)));
+                    writer.write('\n');
+                }
+                if (++rows % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        
+        writer.flush();
+        return rows;
+    }
+    
+    private String[] toCsvRow(Student s) {
+        return new String[] {
+            str(s.getId()), s.getFirstName(), s.getLastName(), str(s.getDateOfBirth()), s.getGender(),
+            s.getAddress(), s.getParentName(), s.getParentPhone(), s.getParentEmail(), s.getEmergencyContact(),
+            s.getEmergencyPhone(), s.getMedicalInfo(), s.getAllergies(), str(s.getEnrollmentDate()),
+            str(s.getIsActive()), str(s.getCreatedAt()), str(s.getUpdatedAt())
+        };
+    }
+    
+    private static String str(Object value) {
+        return value == null ? null : value.toString();
+    }
+    
+    private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+    
+    /**
+     * RFC 4180 quoting: wrap in quotes when the value holds a delimiter, quote or line break
+     */
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,100 @@
+package com.playschool.management.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-role allow-list for sparse fieldsets. A caller may request any field allowed by at least one of
+ * their roles; "*" allows everything. Unauthenticated callers (public endpoints) get the anonymous list.
+ */
+@Component
+public class StudentFieldPolicy {
+    
+    private static final String ALL = "*";
+    
+    // Defaults: teachers see care details but not home address or parent email; parents also see the email
+    private static final String TEACHER_FIELDS = "id,firstName,lastName,fullName,age,dateOfBirth,gender,parentName,"
+            + "parentPhone,emergencyContact,emergencyPhone,medicalInfo,allergies,enrollmentDate,isActive";
+    
+    // Properties of StudentSummaryResponse (?view=summary)
+    private static final Set<String> SUMMARY_FIELDS = Set.of("id", "firstName", "lastName", "dateOfBirth", "gender",
+            "parentName", "isActive");
+    
+    private final Map<String, List<String>> allowedByRole;
+    private final List<String> allowedAnonymous;
+    
+    public StudentFieldPolicy(@Value("${students.fields.allowed.admin:*}") String admin,
+                              @Value("${students.fields.allowed.staff:*}") String staff,
+                              @Value("${students.fields.allowed.teacher:" + TEACHER_FIELDS + "}") String teacher,
+                              @Value("${students.fields.allowed.parent:" + TEACHER_FIELDS + ",parentEmail}") String parent,
+                              @Value("${students.fields.allowed.anonymous:id,firstName,lastName,fullName,age,gender,isActive}") String anonymous) {
+        this.allowedByRole = Map.of(
+                "ROLE_ADMIN", StudentFieldSet.split(admin),
+                "ROLE_STAFF", StudentFieldSet.split(staff),
+                "ROLE_TEACHER", StudentFieldSet.split(teacher),
+                "ROLE_PARENT", StudentFieldSet.split(parent));
+        this.allowedAnonymous = StudentFieldSet.split(anonymous);
+    }
+    
+    /**
+     * Parse ?fields= and check it against the current caller's roles. Without ?fields= the caller gets
+     * the default representation cut down to their allow-list: null (the full response, or the summary
+     * when summary is set) only if it holds nothing they may not see, otherwise the allow-list itself.
+     */
+    public StudentFieldSet resolve(String fields, boolean summary) {
+        StudentFieldSet fieldSet = StudentFieldSet.parse(fields);
+        Set<String> allowed = allowedFields(SecurityContextHolder.getContext().getAuthentication());
+        if (fieldSet == null) {
+            Set<String> defaults = summary ? SUMMARY_FIELDS : StudentFieldSet.allProperties();
+            if (allowed.contains(ALL) || allowed.containsAll(defaults)) {
+                return null;
+            }
+            StudentFieldSet restricted = StudentFieldSet.allowedOf(summary ? intersect(defaults, allowed) : allowed);
+            if (restricted == null) {
+                throw new AccessDeniedException("No student fields are permitted");
+            }
+            return restricted;
+        }
+        if (!allowed.contains(ALL)) {
+            for (String property : fieldSet.getProperties()) {
+                if (!allowed.contains(property)) {
+                    throw new AccessDeniedException("Field not permitted: " + property);
+                }
+            }
+        }
+        return fieldSet;
+    }
+    
+    private static Set<String> intersect(Set<String> a, Set<String> b) {
+        Set<String> both = new HashSet<>(a);
+        both.retainAll(b);
+        return both;
+    }
+    
+    private Set<String> allowedFields(Authentication authentication) {
+        Set<String> allowed = new HashSet<>();
+        boolean authenticated = false;
+        if (authentication != null && authentication.isAuthenticated()) {
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                List<String> fields = allowedByRole.get(authority.getAuthority());
+                if (fields != null) {
+                    allowed.addAll(fields);
+                    authenticated = true;
+                }
+            }
+        }
+        if (!authenticated) {
+            allowed.addAll(allowedAnonymous);
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,130 @@
+package com.playschool.management.service;
+
+import jakarta.persistence.Tuple;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A client-chosen subset of the StudentResponse properties (?fields=id,firstName,allergies).
+ * Knows which entity attributes each property needs, so only those columns are selected.
+ */
+public class StudentFieldSet {
+    
+    // Response property -> entity attributes it is built from, in StudentResponse order
+    private static final Map<String, List<String>> PROPERTIES = new LinkedHashMap<>();
+    
+    static {
+        for (String attribute : List.of("id", "firstName", "lastName", "dateOfBirth", "gender", "address",
+                "parentName", "parentPhone", "parentEmail", "emergencyContact", "emergencyPhone", "medicalInfo",
+                "allergies", "enrollmentDate", "isActive", "createdAt", "updatedAt")) {
+            PROPERTIES.put(attribute, List.of(attribute));
+        }
+        PROPERTIES.put("fullName", List.of("firstName", "lastName"));
+        PROPERTIES.put("age", List.of("dateOfBirth"));
+    }
+    
+    // Always selected: id identifies the row and the name columns build the keyset cursor
+    private static final List<String> KEY_ATTRIBUTES = List.of("id", "lastName", "firstName");
+    
+    private final Set<String> properties;
+    
+    private StudentFieldSet(Set<String> properties) {
+        this.properties = properties;
+    }
+    
+    public static Set<String> allProperties() {
+        return Collections.unmodifiableSet(PROPERTIES.keySet());
+    }
+    
+    /**
+     * Every known property in the given allow-list, in StudentResponse order
+     */
+    public static StudentFieldSet allowedOf(Set<String> allowed) {
+        Set<String> properties = new LinkedHashSet<>();
+        for (String property : PROPERTIES.keySet()) {
+            if (allowed.contains(property)) {
+                properties.add(property);
+            }
+        }
+        return properties.isEmpty() ? null : new StudentFieldSet(Collections.unmodifiableSet(properties));
+    }
+    
+    /**
+     * Parse a comma separated field list, or return null when none was sent (full response)
+     */
+    public static StudentFieldSet parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!PROPERTIES.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("No fields requested");
+        }
+        return new StudentFieldSet(Collections.unmodifiableSet(requested));
+    }
+    
+    public Set<String> getProperties() {
+        return properties;
+    }
+    
+    /**
+     * Entity attributes to put in the SELECT list
+     */
+    public Set<String> getAttributes() {
+        Set<String> attributes = new LinkedHashSet<>(KEY_ATTRIBUTES);
+        for (String property : properties) {
+            attributes.addAll(PROPERTIES.get(property));
+        }
+        return attributes;
+    }
+    
+    public StudentCursor cursorOf(Tuple row) {
+        return new StudentCursor(row.get("lastName", String.class), row.get("firstName", String.class),
+                row.get("id", Long.class));
+    }
+    
+    /**
+     * Only the requested properties, in the order they were asked for
+     */
+    public Map<String, Object> toMap(Tuple row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String property : properties) {
+            switch (property) {
+                case "fullName" -> values.put(property, row.get("firstName") + " " + row.get("lastName"));
+                case "age" -> {
+                    // Same rule as StudentResponse.getAge()
+                    LocalDate dateOfBirth = row.get("dateOfBirth", LocalDate.class);
+                    values.put(property, dateOfBirth != null ? LocalDate.now().getYear() - dateOfBirth.getYear() : 0);
+                }
+                default -> values.put(property, row.get(property));
+            }
+        }
+        return values;
+    }
+    
+    @Override
+    public String toString() {
+        return String.join(",", properties);
+    }
+    
+    static List<String> split(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,398 @@
+package com.playschool.management.service;
+
+import com.playschool.management.dto.request.StudentRegistrationRequest;
+import com.playschool.management.entity.ImportJob;
+import com.playschool.management.entity.ImportJobError;
+import com.playschool.management.entity.ImportJobStatus;
+import com.playschool.management.entity.Student;
+import com.playschool.management.repository.ImportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Asynchronous, resumable student CSV import. The upload is kept on disk, parsed one record at a
+ * time, validated a chunk at a time in parallel and committed chunk by chunk through StudentImportWriter.
+ */
+@Service
+public class StudentImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportService.class);
+    
+    // CSV header (case, spaces and underscores ignored) -> request setter
+    private static final Map<String, BiConsumer<StudentRegistrationRequest, String>> COLUMNS = new HashMap<>();
+    
+    static {
+        COLUMNS.put("firstname", StudentRegistrationRequest::setFirstName);
+        COLUMNS.put("lastname", StudentRegistrationRequest::setLastName);
+        COLUMNS.put("dateofbirth", (r, v) -> r.setDateOfBirth(parseDate(v, "dateOfBirth")));
+        COLUMNS.put("gender", StudentRegistrationRequest::setGender);
+        COLUMNS.put("address", StudentRegistrationRequest::setAddress);
+        COLUMNS.put("parentname", StudentRegistrationRequest::setParentName);
+        COLUMNS.put("parentphone", StudentRegistrationRequest::setParentPhone);
+        COLUMNS.put("parentemail", StudentRegistrationRequest::setParentEmail);
+        COLUMNS.put("emergencycontact", StudentRegistrationRequest::setEmergencyContact);
+        COLUMNS.put("emergencyphone", StudentRegistrationRequest::setEmergencyPhone);
+        COLUMNS.put("medicalinfo", StudentRegistrationRequest::setMedicalInfo);
+        COLUMNS.put("allergies", StudentRegistrationRequest::setAllergies);
+        COLUMNS.put("enrollmentdate", (r, v) -> r.setEnrollmentDate(parseDate(v, "enrollmentDate")));
+    }
+    
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstname", "lastname", "dateofbirth");
+    
+    private static final List<ImportJobStatus> UNFINISHED = List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+    
+    @Autowired
+    private ImportJobRepository importJobRepository;
+    
+    @Autowired
+    private StudentImportWriter importWriter;
+    
+    @Autowired
+    private StudentValidator studentValidator;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${students.import.dir:${java.io.tmpdir}/playschool-imports}")
+    private String importDir;
+    
+    @Value("${students.import.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${students.import.concurrent-jobs:1}")
+    private int concurrentJobs;
+    
+    // 0 = one per core
+    @Value("${students.import.validation-threads:0}")
+    private int validationThreads;
+    
+    // How long a job stays with this instance without a heartbeat before another may take it over
+    @Value("${students.import.lease:2m}")
+    private Duration lease;
+    
+    // Identifies this instance as the owner of the jobs it runs; unique per process
+    private final String instanceId = hostName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    
+    private ExecutorService executor;
+    
+    // Row validation only, kept off the common pool so other parallel work cannot starve it or be starved
+    private ForkJoinPool validationPool;
+    
+    @PostConstruct
+    public void startExecutor() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(concurrentJobs, runnable -> {
+            Thread thread = new Thread(runnable, "student-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int parallelism = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        validationPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("student-import-validate-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+    
+    @PreDestroy
+    public void stopExecutor() {
+        executor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+    
+    /**
+     * Store the upload and queue it; the returned job id is used to poll progress
+     */
+    public ImportJob submit(MultipartFile file) throws IOException {
+        String jobId = UUID.randomUUID().toString();
+        Path dir = Paths.get(importDir);
+        Files.createDirectories(dir);
+        Path target = dir.resolve(jobId + ".csv").toAbsolutePath();
+        file.transferTo(target);
+        
+        ImportJob job = new ImportJob(jobId, file.getOriginalFilename(), target.toString(), Files.size(target));
+        job.setOwner(instanceId);
+        job.setLeaseExpiresAt(LocalDateTime.now().plus(lease));
+        job = importJobRepository.save(job);
+        executor.submit(() -> process(jobId));
+        return job;
+    }
+    
+    /**
+     * Pick up jobs that were queued or running when their owner stopped. A job is only taken when its
+     * upload is on this instance's disk and its lease has run out, and the claim is a conditional
+     * UPDATE, so with several instances each job is resumed by exactly one of them. Runs at startup and
+     * then periodically, since a restarted instance must wait for its previous lease to expire.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${students.import.resume-interval:1m}", initialDelayString = "${students.import.resume-interval:1m}")
+    public void resumeInterruptedJobs() {
+        for (ImportJob job : importJobRepository.findByStatusIn(UNFINISHED)) {
+            if (instanceId.equals(job.getOwner()) || !Files.exists(Paths.get(job.getStoredPath()))) {
+                continue;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (importJobRepository.claim(job.getId(), UNFINISHED, instanceId, now.plus(lease), now) == 1) {
+                logger.info("Resuming import job {} after row {}", job.getId(), job.getProcessedRows());
+                executor.submit(() -> process(job.getId()));
+            }
+        }
+    }
+    
+    /**
+     * Keep the leases of this instance's queued and running jobs alive
+     */
+    @Scheduled(fixedDelayString = "${students.import.lease-renew-interval:30s}")
+    public void renewLeases() {
+        importJobRepository.renewLeases(instanceId, UNFINISHED, LocalDateTime.now().plus(lease));
+    }
+    
+    public ImportJob getJob(String jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found: " + jobId));
+    }
+    
+    void process(String jobId) {
+        try {
+            run(jobId);
+        } catch (Exception e) {
+            logger.error("Import job {} failed: {}", jobId, e.getMessage(), e);
+            String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            if (!importWriter.updateStatus(jobId, instanceId, ImportJobStatus.FAILED, message)) {
+                logger.warn("Import job {} is no longer owned by {}; not marking it failed", jobId, instanceId);
+            }
+        }
+    }
+    
+    private void run(String jobId) throws Exception {
+        ImportJob job = getJob(jobId);
+        if (job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.FAILED) {
+            return;
+        }
+        if (!importWriter.updateStatus(jobId, instanceId, ImportJobStatus.RUNNING, null)) {
+            logger.warn("Import job {} is no longer owned by {}; stopping", jobId, instanceId);
+            return;
+        }
+        
+        long alreadyCommitted = job.getProcessedRows();
+        Path file = Paths.get(job.getStoredPath());
+        
+        try (CountingInputStream counting = new CountingInputStream(Files.newInputStream(file));
+             CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(counting, StandardCharsets.UTF_8)))) {
+            
+            List<String> header = csv.readRecord();
+            List<BiConsumer<StudentRegistrationRequest, String>> setters = header == null ? List.of() : mapHeader(header);
+            
+            List<String[]> chunk = new ArrayList<>(chunkSize);
+            List<String> record;
+            long row = 0;
+            while (header != null && (record = csv.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue; // blank line, not counted as a row
+                }
+                row++;
+                if (row <= alreadyCommitted) {
+                    continue;
+                }
+                chunk.add(record.toArray(new String[0]));
+                if (chunk.size() == chunkSize) {
+                    if (!commit(jobId, setters, chunk, row, counting.getCount())) {
+                        return;
+                    }
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty() && !commit(jobId, setters, chunk, row, counting.getCount())) {
+                return;
+            }
+        }
+        
+        if (!importWriter.updateStatus(jobId, instanceId, ImportJobStatus.COMPLETED, null)) {
+            logger.warn("Import job {} is no longer owned by {}; stopping", jobId, instanceId);
+            return;
+        }
+        job = getJob(jobId);
+        Files.deleteIfExists(file);
+        logger.info("Import job {} completed: {} imported, {} rejected",
+                jobId, job.getImportedRows(), job.getFailedRows());
+    }
+    
+    // False when the job has been taken over by another instance and this run must stop
+    private boolean commit(String jobId, List<BiConsumer<StudentRegistrationRequest, String>> setters,
+                           List<String[]> chunk, long lastRow, long bytesRead) throws Exception {
+        long firstRow = lastRow - chunk.size() + 1;
+        
+        // Validation is CPU-only (no transaction, no I/O), so spread it across the validation pool;
+        // results keep their row order
+        List<RowResult> results = validationPool.submit(() -> IntStream.range(0, chunk.size())
+                .parallel()
+                .mapToObj(i -> validateRow(setters, chunk.get(i)))
+                .toList()).get();
+        
+        List<Student> students = new ArrayList<>();
+        List<ImportJobError> errors = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            RowResult result = results.get(i);
+            if (result.error == null) {
+                students.add(result.student);
+            } else {
+                errors.add(new ImportJobError(jobId, firstRow + i, result.error));
+            }
+        }
+        if (!importWriter.commitChunk(jobId, instanceId, LocalDateTime.now().plus(lease), students, errors, lastRow, bytesRead)) {
+            logger.warn("Import job {} is no longer owned by {}; stopping", jobId, instanceId);
+            return false;
+        }
+        return true;
+    }
+    
+    private RowResult validateRow(List<BiConsumer<StudentRegistrationRequest, String>> setters, String[] values) {
+        StudentRegistrationRequest request = new StudentRegistrationRequest();
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < setters.size() && i < values.length; i++) {
+            BiConsumer<StudentRegistrationRequest, String> setter = setters.get(i);
+            String value = values[i] == null ? null : values[i].trim();
+            if (setter != null && value != null && !value.isEmpty()) {
+                try {
+                    setter.accept(request, value);
+                } catch (IllegalArgumentException e) {
+                    errors.add(e.getMessage());
+                }
+            }
+        }
+        
+        for (ConstraintViolation<StudentRegistrationRequest> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        
+        Student student = request.toStudent();
+        if (errors.isEmpty()) {
+            try {
+                studentValidator.validate(student);
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        
+        if (!errors.isEmpty()) {
+            String message = String.join("; ", errors);
+            return new RowResult(null, message.length() > 1000 ? message.substring(0, 1000) : message);
+        }
+        return new RowResult(student, null);
+    }
+    
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "unknown";
+        }
+    }
+    
+    private static List<BiConsumer<StudentRegistrationRequest, String>> mapHeader(List<String> header) {
+        List<BiConsumer<StudentRegistrationRequest, String>> setters = new ArrayList<>();
+        List<String> seen = new ArrayList<>();
+        for (String column : header) {
+            String key = column.replace("\uFEFF", "").replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT);
+            setters.add(COLUMNS.get(key));
+            seen.add(key);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!seen.contains(required)) {
+                throw new IllegalArgumentException("CSV header is missing required column: " + required);
+            }
+        }
+        return setters;
+    }
+    
+    private static LocalDate parseDate(String value, String field) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + ": expected yyyy-MM-dd but got '" + value + "'");
+        }
+    }
+    
+    // Either the student to insert or the reason the row was rejected
+    private static class RowResult {
+        
+        final Student student;
+        final String error;
+        
+        RowResult(Student student, String error) {
+            this.student = student;
+            this.error = error;
+        }
+    }
+    
+    private static class CountingInputStream extends FilterInputStream {
+        
+        private long count;
+        
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+        
+        long getCount() {
+            return count;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.playschool.management.service;
+
+import com.playschool.management.entity.ImportJob;
+import com.playschool.management.entity.ImportJobError;
+import com.playschool.management.entity.ImportJobStatus;
+import com.playschool.management.entity.Student;
+import com.playschool.management.event.StudentChangedEvent;
+import com.playschool.management.repository.ImportJobErrorRepository;
+import com.playschool.management.repository.ImportJobRepository;
+import jakarta.annotation.PostConstruct;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Commits one import chunk: the student rows, their row errors and the job's progress marker go in
+ * the same transaction, so after a crash the job resumes exactly after the last committed chunk.
+ * The job row is locked and its owner checked first, so a run that lost its lease cannot commit.
+ * PostgreSQL gets COPY FROM STDIN; other databases use the JDBC-batched StudentService path.
+ */
+@Component
+public class StudentImportWriter {
+    
+    private static final String COPY_SQL = "COPY students (id, first_name, last_name, date_of_birth, gender, address, "
+            + "parent_name, parent_phone, parent_email, parent_email_normalized, emergency_contact, emergency_phone, "
+            + "medical_info, allergies, enrollment_date, is_active, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    
+    @Autowired
+    private ImportJobRepository importJobRepository;
+    
+    @Autowired
+    private ImportJobErrorRepository importJobErrorRepository;
+    
+    @Autowired
+    private StudentService studentService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Value("${students.import.max-stored-errors:10000}")
+    private int maxStoredErrors;
+    
+    private boolean postgres;
+    
+    @PostConstruct
+    public void detectDatabase() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        }
+    }
+    
+    /**
+     * False, with nothing written, when the job now belongs to another instance
+     */
+    @Transactional
+    public boolean commitChunk(String jobId, String owner, LocalDateTime leaseExpiresAt, List<Student> students,
+                               List<ImportJobError> errors, long lastRow, long bytesRead) throws SQLException, IOException {
+        ImportJob job = importJobRepository.findForUpdate(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found: " + jobId));
+        if (!owner.equals(job.getOwner())) {
+            return false;
+        }
+        if (lastRow <= job.getProcessedRows()) {
+            return true;
+        }
+        
+        if (!students.isEmpty()) {
+            if (postgres) {
+                copyIn(students);
+            } else {
+                studentService.registerStudentsBatch(students);
+            }
+        }
+        
+        // Keep every row counted but cap how many error rows are stored per job
+        long room = Math.max(0, maxStoredErrors - job.getFailedRows());
+        if (room > 0 && !errors.isEmpty()) {
+            importJobErrorRepository.saveAll(errors.subList(0, (int) Math.min(room, errors.size())));
+        }
+        
+        job.setProcessedRows(lastRow);
+        job.setImportedRows(job.getImportedRows() + students.size());
+        job.setFailedRows(job.getFailedRows() + errors.size());
+        job.setBytesRead(Math.min(bytesRead, job.getFileSize()));
+        job.setLeaseExpiresAt(leaseExpiresAt);
+        importJobRepository.save(job);
+        return true;
+    }
+    
+    /**
+     * Move the job to status (RUNNING, COMPLETED or FAILED), under the same lock and owner check as
+     * commitChunk. False, with nothing written, when the job now belongs to another instance.
+     */
+    @Transactional
+    public boolean updateStatus(String jobId, String owner, ImportJobStatus status, String errorMessage) {
+        ImportJob job = importJobRepository.findForUpdate(jobId).orElse(null);
+        if (job == null || !owner.equals(job.getOwner())) {
+            return false;
+        }
+        job.setStatus(status);
+        if (status == ImportJobStatus.COMPLETED) {
+            job.setBytesRead(job.getFileSize());
+        }
+        if (status == ImportJobStatus.COMPLETED || status == ImportJobStatus.FAILED) {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+        if (errorMessage != null) {
+            job.setErrorMessage(errorMessage.length() > 500 ? errorMessage.substring(0, 500) : errorMessage);
+        }
+        importJobRepository.save(job);
+        return true;
+    }
+    
+    private void copyIn(List<Student> students) throws SQLException, IOException {
+        List<Long> ids = allocateIds(students.size());
+        LocalDateTime now = LocalDateTime.now();
+        
+        StringBuilder rows = new StringBuilder(students.size() * 200);
+        for (int i = 0; i < students.size(); i++) {
+            Student s = students.get(i);
+            s.setId(ids.get(i));
+            if (s.getEnrollmentDate() == null) {
+                s.setEnrollmentDate(LocalDate.now());
+            }
+            s.setIsActive(true);
+            s.setCreatedAt(now);
+            s.setUpdatedAt(now);
+            appendCsv(rows, s.getId(), s.getFirstName(), s.getLastName(), s.getDateOfBirth(), s.getGender(),
+                    s.getAddress(), s.getParentName(), s.getParentPhone(), s.getParentEmail(),
+                    Student.normalizeEmail(s.getParentEmail()), s.getEmergencyContact(), s.getEmergencyPhone(),
+                    s.getMedicalInfo(), s.getAllergies(), s.getEnrollmentDate(), s.getIsActive(), s.getCreatedAt(),
+                    s.getUpdatedAt());
+        }
+        
+        // Same connection as the surrounding transaction, so the COPY commits or rolls back with the chunk
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            copyManager.copyIn(COPY_SQL, new StringReader(rows.toString()));
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        
+        students.forEach(student -> eventPublisher.publishEvent(StudentChangedEvent.created(student)));
+    }
+    
+    /**
+     * Reserve ids from students_seq the same way Hibernate's pooled optimizer does: each nextval
+     * value V hands out the block (V - allocationSize, V], so both writers can share the sequence.
+     */
+    private List<Long> allocateIds(int count) {
+        int blockSize = Student.ID_ALLOCATION_SIZE;
+        int blocks = (count + blockSize - 1) / blockSize;
+        List<Long> highs = jdbcTemplate.queryForList(
+                "SELECT nextval('students_seq') FROM generate_series(1, ?)", Long.class, blocks);
+        
+        List<Long> ids = new ArrayList<>(count);
+        for (Long high : highs) {
+            for (long id = Math.max(1, high - blockSize + 1); id <= high && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        if (ids.size() < count) {
+            // Only possible when the sequence handed out its initial value 1, which is a block of one
+            ids.addAll(allocateIds(count - ids.size()));
+        }
+        return ids;
+    }
+    
+    private static void appendCsv(StringBuilder out, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue; // unquoted empty is NULL in COPY csv format
+            }
+            out.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+        }
+        out.append('\n');
+    }
+}
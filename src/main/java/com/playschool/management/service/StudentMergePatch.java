@@ -0,0 +1,100 @@
+package com.playschool.management.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.dto.request.StudentRegistrationRequest;
+import com.playschool.management.entity.Student;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A JSON Merge Patch (RFC 7396) against the mutable student fields. Members set a field, null members
+ * clear it, absent members are left alone. Each value is checked with the same constraints as a PUT.
+ */
+public class StudentMergePatch {
+    
+    private record Field(Class<?> type, BiConsumer<Student, Object> setter) {}
+    
+    // The fields PUT /api/students/{id} overwrites; everything else (id, isActive, timestamps) is not patchable
+    private static final Map<String, Field> FIELDS = new LinkedHashMap<>();
+    
+    static {
+        FIELDS.put("firstName", new Field(String.class, (s, v) -> s.setFirstName((String) v)));
+        FIELDS.put("lastName", new Field(String.class, (s, v) -> s.setLastName((String) v)));
+        FIELDS.put("dateOfBirth", new Field(LocalDate.class, (s, v) -> s.setDateOfBirth((LocalDate) v)));
+        FIELDS.put("gender", new Field(String.class, (s, v) -> s.setGender((String) v)));
+        FIELDS.put("address", new Field(String.class, (s, v) -> s.setAddress((String) v)));
+        FIELDS.put("parentName", new Field(String.class, (s, v) -> s.setParentName((String) v)));
+        FIELDS.put("parentPhone", new Field(String.class, (s, v) -> s.setParentPhone((String) v)));
+        FIELDS.put("parentEmail", new Field(String.class, (s, v) -> s.setParentEmail((String) v)));
+        FIELDS.put("emergencyContact", new Field(String.class, (s, v) -> s.setEmergencyContact((String) v)));
+        FIELDS.put("emergencyPhone", new Field(String.class, (s, v) -> s.setEmergencyPhone((String) v)));
+        FIELDS.put("medicalInfo", new Field(String.class, (s, v) -> s.setMedicalInfo((String) v)));
+        FIELDS.put("allergies", new Field(String.class, (s, v) -> s.setAllergies((String) v)));
+    }
+    
+    // Fields no in-memory index or aggregate is derived from: a single change to one of these can be
+    // written with a bare UPDATE, without loading the row. The collection version and the change feed
+    // still derive from them, so the write publishes a StudentDetailsUpdatedEvent.
+    private static final Set<String> FAST_PATH_FIELDS =
+            Set.of("address", "parentPhone", "emergencyContact", "emergencyPhone", "medicalInfo", "allergies");
+    
+    private final Map<String, Object> changes;
+    
+    private StudentMergePatch(Map<String, Object> changes) {
+        this.changes = changes;
+    }
+    
+    /**
+     * Read and validate a merge patch document. Throws IllegalArgumentException on anything invalid.
+     */
+    public static StudentMergePatch parse(JsonNode document, ObjectMapper objectMapper, Validator validator) {
+        if (document == null || !document.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> member : document.properties()) {
+            Field field = FIELDS.get(member.getKey());
+            if (field == null) {
+                throw new IllegalArgumentException("Field cannot be patched: " + member.getKey());
+            }
+            Object value;
+            try {
+                value = member.getValue().isNull() ? null : objectMapper.convertValue(member.getValue(), field.type());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid value for " + member.getKey());
+            }
+            Set<ConstraintViolation<StudentRegistrationRequest>> violations =
+                    validator.validateValue(StudentRegistrationRequest.class, member.getKey(), value);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.iterator().next().getMessage());
+            }
+            changes.put(member.getKey(), value);
+        }
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Merge patch is empty");
+        }
+        return new StudentMergePatch(changes);
+    }
+    
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+    
+    /**
+     * True when the patch touches exactly one field that can be written without loading the row
+     */
+    public boolean isSingleFastPathField() {
+        return changes.size() == 1 && FAST_PATH_FIELDS.contains(changes.keySet().iterator().next());
+    }
+    
+    public void applyTo(Student student) {
+        changes.forEach((name, value) -> FIELDS.get(name).setter().accept(student, value));
+    }
+}
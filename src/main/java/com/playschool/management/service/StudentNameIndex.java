@@ -0,0 +1,20 @@
+package com.playschool.management.service;
+
+import java.util.List;
+
+/**
+ * Resolves a case-insensitive substring name query to ranked student IDs without scanning the students table.
+ * The backend is chosen with students.search.backend (memory or pg-trgm).
+ */
+public interface StudentNameIndex {
+    
+    // Shorter queries cannot be served from trigrams; they get no results (prefixes go to the suggest trie)
+    int MIN_QUERY_LENGTH = 3;
+    
+    /**
+     * Return up to {@code limit} student IDs whose first or last name contains {@code query},
+     * best matches first, skipping the first {@code offset} ranked results. Empty for queries shorter
+     * than MIN_QUERY_LENGTH.
+     */
+    List<Long> search(String query, int offset, int limit);
+}
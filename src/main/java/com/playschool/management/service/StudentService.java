@@ -1,23 +1,88 @@
 package com.playschool.management.service;
 
+import com.playschool.management.dto.request.StudentQueryRequest;
+import com.playschool.management.dto.response.PageResponse;
+import com.playschool.management.dto.response.StudentSummaryResponse;
+import com.playschool.management.entity.ArchivedStudent;
 import com.playschool.management.entity.Student;
+import com.playschool.management.event.StudentChangedEvent;
+import com.playschool.management.event.StudentDetailsUpdatedEvent;
+import com.playschool.management.event.StudentRestoredEvent;
+import com.playschool.management.repository.ArchivedStudentRepository;
 import com.playschool.management.repository.StudentRepository;
+import com.playschool.management.repository.StudentSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class StudentService {
     
+    // Ranked ids taken per search page, in multiples of the page size, to top up ids whose row has gone
+    private static final int SEARCH_WINDOW_PAGES = 5;
+    
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private ActiveStudentCounter activeStudentCounter;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private StudentNameIndex studentNameIndex;
+    
+    @Autowired
+    private ParentEmailCache parentEmailCache;
+    
+    @Autowired
+    private ArchivedStudentRepository archivedStudentRepository;
+    
+    @Autowired
+    private StudentValidator studentValidator;
+    
+    @Autowired
+    private StudentChangeVersion studentChangeVersion;
+    
+    @Value("${students.page.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${students.page.max-size:200}")
+    private int maxPageSize;
+    
+    @Value("${students.search.max-results:50}")
+    private int maxSearchResults;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Register a new student in the database
      */
@@ -36,31 +101,145 @@ public class StudentService {
         student.setUpdatedAt(LocalDateTime.now());
         
         // Save student to database
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(StudentChangedEvent.created(saved));
+        return saved;
+    }
+    
+    /**
+     * Register already-validated students in one transaction. Inserts go out as JDBC batches of
+     * hibernate.jdbc.batch_size rows, and the persistence context is cleared after each batch so
+     * memory stays bounded for large imports.
+     */
+    public List<Student> registerStudentsBatch(List<Student> students) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Student> saved = new ArrayList<>(students.size());
+        
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            if (student.getEnrollmentDate() == null) {
+                student.setEnrollmentDate(LocalDate.now());
+            }
+            if (student.getIsActive() == null) {
+                student.setIsActive(true);
+            }
+            student.setCreatedAt(now);
+            student.setUpdatedAt(now);
+            
+            entityManager.persist(student);
+            saved.add(student);
+            
+            if ((i + 1) % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        saved.forEach(student -> eventPublisher.publishEvent(StudentChangedEvent.created(student)));
+        return saved;
     }
     
     /**
      * Get all active students
      */
+    @Transactional(readOnly = true)
     public List<Student> getAllActiveStudents() {
         return studentRepository.findByIsActiveTrue();
     }
     
+    /**
+     * Get one keyset page of active students ordered by last name, first name and id
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Student> getActiveStudentsPage(String cursor, Integer limit) {
+        StudentCursor after = StudentCursor.decode(cursor);
+        int size = resolvePageSize(limit);
+        return toPage(studentRepository.findActivePage(
+                after.getLastName(), after.getFirstName(), after.getId(), Limit.of(size + 1)), size, StudentCursor::after);
+    }
+    
+    /**
+     * Same page as getActiveStudentsPage, as column-trimmed summaries
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<StudentSummaryResponse> getActiveStudentSummariesPage(String cursor, Integer limit) {
+        StudentCursor after = StudentCursor.decode(cursor);
+        int size = resolvePageSize(limit);
+        return toPage(studentRepository.findActiveSummaryPage(
+                after.getLastName(), after.getFirstName(), after.getId(), Limit.of(size + 1)), size, StudentCursor::after);
+    }
+    
+    /**
+     * Same page as getActiveStudentsPage, selecting and returning only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getActiveStudentFieldsPage(StudentFieldSet fields, String cursor,
+                                                                        Integer limit) {
+        StudentCursor after = StudentCursor.decode(cursor);
+        int size = resolvePageSize(limit);
+        return toPage(studentRepository.findActiveFieldsPage(fields.getAttributes(),
+                after.getLastName(), after.getFirstName(), after.getId(), size + 1), size, fields::cursorOf)
+                .map(fields::toMap);
+    }
+    
     /**
      * Get student by ID
      */
+    @Transactional(readOnly = true)
     public Optional<Student> getStudentById(Long id) {
-        return studentRepository.findById(id);
+        return studentRepository.findById(id)
+                .or(() -> archivedStudentRepository.findById(id).map(ArchivedStudent::toStudent));
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getStudentFieldsById(Long id, StudentFieldSet fields) {
+        List<Tuple> rows = studentRepository.findFieldsByIdIn(fields.getAttributes(), List.of(id));
+        if (rows.isEmpty()) {
+            rows = studentRepository.findArchivedFieldsByIdIn(fields.getAttributes(), List.of(id));
+        }
+        return rows.stream().findFirst().map(fields::toMap);
+    }
+    
+    /**
+     * ETag of one student, or empty if it does not exist. Reads only id and version.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getStudentETag(Long id, String variant) {
+        return studentRepository.findStampById(id)
+                .or(() -> archivedStudentRepository.findStampById(id))
+                .map(stamp -> StudentETags.forStudent(stamp.getId(), stamp.getVersion(), variant));
+    }
+    
+    /**
+     * ETag of the active student collection: the committed change count, one primary-key read
+     */
+    @Transactional(readOnly = true)
+    public String getActiveStudentsETag(String variant) {
+        return StudentETags.forCollection(studentChangeVersion.get(), variant);
     }
     
     /**
      * Update student information
      */
     public Student updateStudent(Long id, Student updatedStudent) {
-        Optional<Student> existingStudent = studentRepository.findById(id);
+        return updateStudent(id, updatedStudent, null);
+    }
+    
+    /**
+     * Update student information if the If-Match header (null to skip the check) still matches its ETag.
+     * An archived student is moved back into students first, unchanged and still inactive.
+     */
+    public Student updateStudent(Long id, Student updatedStudent, String ifMatch) {
+        Optional<Student> existingStudent = findOrRestore(id);
         
         if (existingStudent.isPresent()) {
             Student student = existingStudent.get();
+            if (!StudentETags.matches(ifMatch, StudentETags.forStudent(student.getId(), student.getVersion(), null))) {
+                throw new PreconditionFailedException("Student " + id + " was modified by another request");
+            }
+            boolean wasActive = Boolean.TRUE.equals(student.getIsActive());
             
             // Update fields
             student.setFirstName(updatedStudent.getFirstName());
@@ -77,124 +256,395 @@ public class StudentService {
             student.setAllergies(updatedStudent.getAllergies());
             student.setUpdatedAt(LocalDateTime.now());
             
-            return studentRepository.save(student);
+            // Flush now so a concurrent edit surfaces here as a version conflict and the new version is known
+            Student saved = studentRepository.saveAndFlush(student);
+            eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, saved, wasActive));
+            return saved;
         }
         
         throw new RuntimeException("Student not found with id: " + id);
     }
     
+    /**
+     * Apply a JSON Merge Patch. With an expected version and a single contact/care field this is one
+     * UPDATE ... WHERE id = ? AND version = ? and no SELECT; otherwise the row is loaded, patched and
+     * flushed (only changed columns, thanks to @DynamicUpdate); an archived student is restored first.
+     * Returns the new version, or empty if the student does not exist; throws
+     * OptimisticLockingFailureException when the version has moved on.
+     */
+    public Optional<Long> patchStudent(Long id, StudentMergePatch patch, Long expectedVersion) {
+        if (expectedVersion != null && patch.isSingleFastPathField()) {
+            Map.Entry<String, Object> change = patch.getChanges().entrySet().iterator().next();
+            int updated = studentRepository.updateFieldIfVersion(id, expectedVersion, change.getKey(), change.getValue());
+            if (updated == 1) {
+                eventPublisher.publishEvent(new StudentDetailsUpdatedEvent(id));
+                return Optional.of(expectedVersion + 1);
+            }
+            if (studentRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Student " + id + " was modified by another request");
+            }
+            // Missing or archived: the full path below restores an archived row
+        }
+        
+        Optional<Student> existingStudent = findOrRestore(id);
+        if (existingStudent.isEmpty()) {
+            return Optional.empty();
+        }
+        Student student = existingStudent.get();
+        if (expectedVersion != null && !expectedVersion.equals(student.getVersion())) {
+            throw new OptimisticLockingFailureException("Student " + id + " was modified by another request");
+        }
+        boolean wasActive = Boolean.TRUE.equals(student.getIsActive());
+        patch.applyTo(student);
+        student.setUpdatedAt(LocalDateTime.now());
+        
+        Student saved = studentRepository.saveAndFlush(student);
+        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, saved, wasActive));
+        return Optional.of(saved.getVersion());
+    }
+    
     /**
      * Soft delete student (set isActive to false)
      */
     public void deactivateStudent(Long id) {
         Optional<Student> student = studentRepository.findById(id);
         
+        if (student.isEmpty() && archivedStudentRepository.existsById(id)) {
+            // Archived students are inactive already
+            return;
+        }
         if (student.isPresent()) {
             Student studentToDeactivate = student.get();
+            boolean wasActive = Boolean.TRUE.equals(studentToDeactivate.getIsActive());
             studentToDeactivate.setIsActive(false);
             studentToDeactivate.setUpdatedAt(LocalDateTime.now());
-            studentRepository.save(studentToDeactivate);
+            Student saved = studentRepository.save(studentToDeactivate);
+            eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.DEACTIVATED, saved, wasActive));
         } else {
             throw new RuntimeException("Student not found with id: " + id);
         }
     }
     
     /**
-     * Reactivate student
+     * Reactivate student, moving it back out of the archive first if it was archived
      */
     public Student reactivateStudent(Long id) {
-        Optional<Student> student = studentRepository.findById(id);
-        
+        Optional<Student> student = findOrRestore(id);
         if (student.isPresent()) {
             Student studentToReactivate = student.get();
+            boolean wasActive = Boolean.TRUE.equals(studentToReactivate.getIsActive());
             studentToReactivate.setIsActive(true);
             studentToReactivate.setUpdatedAt(LocalDateTime.now());
-            return studentRepository.save(studentToReactivate);
+            Student saved = studentRepository.save(studentToReactivate);
+            eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.REACTIVATED, saved, wasActive));
+            return saved;
         }
         
         throw new RuntimeException("Student not found with id: " + id);
     }
     
+    // The student from the hot table, moving it back out of the archive first if it was archived
+    private Optional<Student> findOrRestore(Long id) {
+        Optional<Student> student = studentRepository.findById(id);
+        if (student.isEmpty() && studentRepository.restoreArchived(id)) {
+            student = studentRepository.findById(id);
+            student.ifPresent(restored -> eventPublisher.publishEvent(new StudentRestoredEvent(restored)));
+        }
+        return student;
+    }
+    
     /**
      * Search students by name
      */
+    @Transactional(readOnly = true)
     public List<Student> searchStudentsByName(String name) {
         return studentRepository.findByNameContaining(name);
     }
     
+    /**
+     * Search students by name: the name index ranks matching IDs, then only that page of rows is fetched.
+     * The cursor is the opaque offset into the ranked result list.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Student> searchStudentsByNamePage(String name, String cursor, Integer limit) {
+        return searchPage(name, cursor, limit, studentRepository::findAllById, Student::getId);
+    }
+    
+    /**
+     * Same ranked search as searchStudentsByNamePage, as column-trimmed summaries
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<StudentSummaryResponse> searchStudentSummariesByNamePage(String name, String cursor, Integer limit) {
+        return searchPage(name, cursor, limit, studentRepository::findSummariesByIdIn, StudentSummaryResponse::getId);
+    }
+    
+    /**
+     * Same ranked search as searchStudentsByNamePage, selecting and returning only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> searchStudentFieldsByNamePage(String name, StudentFieldSet fields,
+                                                                           String cursor, Integer limit) {
+        return searchPage(name, cursor, limit, ids -> studentRepository.findFieldsByIdIn(fields.getAttributes(), ids),
+                (Tuple row) -> row.get("id", Long.class))
+                .map(fields::toMap);
+    }
+    
+    private <T> PageResponse<T> searchPage(String name, String cursor, Integer limit,
+                                           Function<List<Long>, Iterable<T>> loader, Function<T, Long> idOf) {
+        if (name == null || name.trim().length() < StudentNameIndex.MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search needs at least " + StudentNameIndex.MIN_QUERY_LENGTH
+                    + " characters; use /api/students/suggest for shorter prefixes");
+        }
+        int offset = decodeOffset(cursor);
+        int size = Math.min(resolvePageSize(limit), maxSearchResults);
+        
+        // Rank once per request. Ids whose row has gone since indexing are skipped and the page is topped
+        // up from further down the same window, so pages are only short at the end of the results.
+        int window = size * SEARCH_WINDOW_PAGES + 1;
+        List<Long> ranked = studentNameIndex.search(name, offset, window);
+        List<T> rows = new ArrayList<>(size);
+        int end = 0;
+        while (rows.size() < size && end < ranked.size()) {
+            List<Long> ids = ranked.subList(end, Math.min(ranked.size(), end + size - rows.size()));
+            end += ids.size();
+            Map<Long, T> byId = new HashMap<>();
+            loader.apply(ids).forEach(row -> byId.put(idOf.apply(row), row));
+            ids.stream().map(byId::get).filter(Objects::nonNull).forEach(rows::add);
+        }
+        
+        boolean more = end < ranked.size() || ranked.size() == window;
+        return new PageResponse<>(rows, more ? encodeOffset(offset + end) : null, size);
+    }
+    
     /**
      * Get students by parent email
      */
+    @Transactional(readOnly = true)
     public List<Student> getStudentsByParentEmail(String parentEmail) {
-        return studentRepository.findByParentEmailIgnoreCase(parentEmail);
+        return loadParentStudents(parentEmail);
     }
     
     /**
-     * Get total count of active students
+     * Get students by parent email, one keyset page at a time. A parent has a handful of students, so the
+     * id list comes from ParentEmailCache and the page is cut in memory. The summary and fields views
+     * resolve the same ids, so all three views agree.
      */
-    public long getTotalActiveStudents() {
-        return studentRepository.findByIsActiveTrue().size();
+    @Transactional(readOnly = true)
+    public PageResponse<Student> getStudentsByParentEmailPage(String parentEmail, String cursor, Integer limit) {
+        return parentPage(parentEmail, cursor, limit, studentRepository::findAllById, StudentCursor::after);
+    }
+    
+    private List<Student> loadParentStudents(String parentEmail) {
+        List<Long> ids = parentEmailCache.getStudentIds(Student.normalizeEmail(parentEmail));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Student> students = new ArrayList<>(studentRepository.findAllById(ids));
+        students.sort((a, b) -> StudentCursor.ORDER.compare(StudentCursor.after(a), StudentCursor.after(b)));
+        return students;
     }
     
     /**
-     * Check if student exists by ID
+     * Same page as getStudentsByParentEmailPage, as column-trimmed summaries
      */
-    public boolean existsById(Long id) {
-        return studentRepository.existsById(id);
+    @Transactional(readOnly = true)
+    public PageResponse<StudentSummaryResponse> getStudentSummariesByParentEmailPage(String parentEmail, String cursor,
+                                                                                     Integer limit) {
+        return parentPage(parentEmail, cursor, limit, studentRepository::findSummariesByIdIn, StudentCursor::after);
     }
     
     /**
-     * Get all students (including inactive)
+     * Same page as getStudentsByParentEmailPage, selecting and returning only the requested fields
      */
-    public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> getStudentFieldsByParentEmailPage(String parentEmail, StudentFieldSet fields,
+                                                                               String cursor, Integer limit) {
+        return parentPage(parentEmail, cursor, limit, ids -> studentRepository.findFieldsByIdIn(fields.getAttributes(), ids),
+                fields::cursorOf)
+                .map(fields::toMap);
+    }
+    
+    // Rows of the parent's students from ParentEmailCache ids, sorted and cut to one keyset page in memory
+    private <T> PageResponse<T> parentPage(String parentEmail, String cursor, Integer limit,
+                                           Function<List<Long>, ? extends Iterable<T>> load,
+                                           Function<T, StudentCursor> cursorOf) {
+        StudentCursor after = StudentCursor.decode(cursor);
+        int size = resolvePageSize(limit);
+        List<Long> ids = parentEmailCache.getStudentIds(Student.normalizeEmail(parentEmail));
+        if (ids.isEmpty()) {
+            return new PageResponse<>(List.of(), null, size);
+        }
+        List<T> rows = new ArrayList<>();
+        load.apply(ids).forEach(rows::add);
+        return toPage(rows.stream()
+                .filter(row -> StudentCursor.ORDER.compare(cursorOf.apply(row), after) > 0)
+                .sorted(Comparator.comparing(cursorOf, StudentCursor.ORDER))
+                .limit(size + 1)
+                .toList(), size, cursorOf);
     }
     
     /**
-     * Validate student data before registration
+     * One keyset page of the students matching every filter in the request, in roster order
      */
-    public void validateStudentData(Student student) {
-        if (student.getFirstName() == null || student.getFirstName().trim().isEmpty()) {
-            throw new IllegalArgumentException("First name is required");
-        }
+    @Transactional(readOnly = true)
+    public PageResponse<Student> queryStudentsPage(StudentQueryRequest request, String cursor, Integer limit) {
+        Specification<Student> spec = toSpecification(request);
+        StudentCursor after = StudentCursor.decode(cursor);
+        int size = resolvePageSize(limit);
+        return toPage(studentRepository.findPage(spec, after.getLastName(), after.getFirstName(), after.getId(), size + 1),
+                size, StudentCursor::after);
+    }
+    
+    /**
+     * Same page as queryStudentsPage, as column-trimmed summaries
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<StudentSummaryResponse> queryStudentSummariesPage(StudentQueryRequest request, String cursor,
+                                                                          Integer limit) {
+        Specification<Student> spec = toSpecification(request);
+        StudentCursor after = StudentCursor.decode(cursor);
+        int size = resolvePageSize(limit);
+        return toPage(studentRepository.findSummaryPage(spec, after.getLastName(), after.getFirstName(), after.getId(),
+                size + 1), size, StudentCursor::after);
+    }
+    
+    /**
+     * Same page as queryStudentsPage, selecting and returning only the requested fields
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<Map<String, Object>> queryStudentFieldsPage(StudentQueryRequest request, StudentFieldSet fields,
+                                                                    String cursor, Integer limit) {
+        Specification<Student> spec = toSpecification(request);
+        StudentCursor after = StudentCursor.decode(cursor);
+        int size = resolvePageSize(limit);
+        return toPage(studentRepository.findFieldsPage(fields.getAttributes(), spec,
+                after.getLastName(), after.getFirstName(), after.getId(), size + 1), size, fields::cursorOf)
+                .map(fields::toMap);
+    }
+    
+    /**
+     * AND of one Specification per filter present in the request
+     */
+    private Specification<Student> toSpecification(StudentQueryRequest request) {
+        List<Specification<Student>> filters = new ArrayList<>();
+        filters.add(StudentSpecifications.isActive(request.getActive() == null || request.getActive()));
         
-        if (student.getLastName() == null || student.getLastName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Last name is required");
+        Integer minAge = request.getMinAge();
+        Integer maxAge = request.getMaxAge();
+        if ((minAge != null && minAge < 0) || (maxAge != null && maxAge < 0)) {
+            throw new IllegalArgumentException("Ages must not be negative");
+        }
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            throw new IllegalArgumentException("minAge must not be greater than maxAge");
+        }
+        if (minAge != null || maxAge != null) {
+            // Yearly age (this year minus birth year), so the bounds are the first days of birth years
+            int year = LocalDate.now().getYear();
+            LocalDate bornFrom = maxAge == null ? null : LocalDate.of(year - maxAge, 1, 1);
+            LocalDate bornBefore = minAge == null ? null : LocalDate.of(year - minAge + 1, 1, 1);
+            filters.add(StudentSpecifications.bornBetween(bornFrom, bornBefore));
         }
         
-        if (student.getDateOfBirth() == null) {
-            throw new IllegalArgumentException("Date of birth is required");
+        if (request.getGender() != null && !request.getGender().isBlank()) {
+            filters.add(StudentSpecifications.gender(request.getGender()));
         }
         
-        if (student.getDateOfBirth().isAfter(LocalDate.now())) {
-            throw new IllegalArgumentException("Date of birth cannot be in the future");
+        LocalDate enrolledFrom = request.getEnrolledFrom();
+        LocalDate enrolledTo = request.getEnrolledTo();
+        if (enrolledFrom != null && enrolledTo != null && enrolledFrom.isAfter(enrolledTo)) {
+            throw new IllegalArgumentException("enrolledFrom must not be after enrolledTo");
+        }
+        if (enrolledFrom != null || enrolledTo != null) {
+            filters.add(StudentSpecifications.enrolledBetween(enrolledFrom, enrolledTo));
         }
         
-        // Calculate age - should be between 1-6 years for playschool
-        int age = LocalDate.now().getYear() - student.getDateOfBirth().getYear();
-        if (age < 1 || age > 6) {
-            throw new IllegalArgumentException("Student age should be between 1-6 years for playschool");
+        if (request.getHasAllergies() != null) {
+            filters.add(StudentSpecifications.hasAllergies(request.getHasAllergies()));
         }
         
-        if (student.getParentEmail() != null && !student.getParentEmail().isEmpty()) {
-            if (!isValidEmail(student.getParentEmail())) {
-                throw new IllegalArgumentException("Invalid parent email format");
+        String namePrefix = request.getNamePrefix();
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            if (namePrefix.trim().length() > 50) {
+                throw new IllegalArgumentException("namePrefix must not exceed 50 characters");
             }
+            filters.add(StudentSpecifications.namePrefix(namePrefix));
+        }
+        return Specification.allOf(filters);
+    }
+    
+    /**
+     * Get total count of active students (served from memory, see ActiveStudentCounter). No transaction:
+     * even a read-only one would check out and prepare a JDBC connection on every poll.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long getTotalActiveStudents() {
+        return activeStudentCounter.get();
+    }
+    
+    /**
+     * Check if student exists by ID
+     */
+    @Transactional(readOnly = true)
+    public boolean existsById(Long id) {
+        return studentRepository.existsById(id);
+    }
+    
+    /**
+     * Validate student data before registration. Runs outside any transaction: the checks never touch
+     * the database, and bulk callers should use StudentValidator directly.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void validateStudentData(Student student) {
+        studentValidator.validate(student);
+    }
+    
+    /**
+     * Clamp the requested page size to the server-enforced maximum
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
         }
+        return Math.min(requested, maxPageSize);
     }
     
     /**
-     * Helper method to validate email format
+     * Build a page from a query that fetched one row more than the page size
      */
-    private boolean isValidEmail(String email) {
-        return email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private <T> PageResponse<T> toPage(List<T> rows, int size, Function<T, StudentCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new PageResponse<>(rows, null, size);
+        }
+        List<T> items = rows.subList(0, size);
+        String next = cursorOf.apply(items.get(size - 1)).encode();
+        return new PageResponse<>(items, next, size);
+    }
+    
+    private static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("o" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith("o")) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Math.max(0, Integer.parseInt(raw.substring(1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
     
     /**
      * Register student with validation
      */
     public Student registerStudentWithValidation(Student student) {
-        validateStudentData(student);
+        studentValidator.validate(student);
         return registerStudent(student);
     }
 }
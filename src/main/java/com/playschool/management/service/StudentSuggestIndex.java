@@ -0,0 +1,190 @@
+package com.playschool.management.service;
+
+import com.playschool.management.dto.response.StudentSuggestion;
+import com.playschool.management.entity.Student;
+import com.playschool.management.event.StudentChangedEvent;
+import com.playschool.management.event.StudentRestoredEvent;
+import com.playschool.management.event.StudentsArchivedEvent;
+import com.playschool.management.event.StudentsStatusChangedEvent;
+import com.playschool.management.repository.StudentRepository;
+import com.playschool.management.repository.StudentRepository.StudentNameView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Type-ahead over active students. Every word of the student's first name, last name and parent name,
+ * plus the full "first last" and parent name strings, is a term in a radix trie; a prefix lookup walks one subtree.
+ */
+@Component
+public class StudentSuggestIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StudentSuggestIndex.class);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private final RadixTrie trie = new RadixTrie();
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Display name and indexed terms per student, needed to answer lookups and to unindex on change
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    
+    private static class Entry {
+        final String displayName;
+        final Set<String> terms;
+        
+        Entry(String displayName, Set<String> terms) {
+            this.displayName = displayName;
+            this.terms = terms;
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<StudentNameView> names = studentRepository.streamNames()) {
+            names.filter(view -> Boolean.TRUE.equals(view.getIsActive()))
+                 .forEach(view -> put(view.getId(), view.getFirstName(), view.getLastName(), view.getParentName()));
+        }
+        logger.info("Student suggest index loaded: {} active students", entries.size());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        Student student = event.getStudent();
+        if (event.isActive()) {
+            put(student.getId(), student.getFirstName(), student.getLastName(), student.getParentName());
+        } else {
+            remove(student.getId());
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentsStatusChanged(StudentsStatusChangedEvent event) {
+        if (event.isActive()) {
+            // Bulk reactivation only carries ids; read back just the name columns
+            studentRepository.findNameViewsByIdIn(event.getStudentIds())
+                    .forEach(view -> put(view.getId(), view.getFirstName(), view.getLastName(), view.getParentName()));
+        } else {
+            event.getStudentIds().forEach(this::remove);
+        }
+    }
+    
+    /**
+     * Archived students were inactive already; dropping them again keeps the index bounded by the hot table
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentsArchived(StudentsArchivedEvent event) {
+        event.getStudentIds().forEach(this::remove);
+    }
+    
+    /**
+     * A restored student is still inactive; it comes back through the REACTIVATED change that follows
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentRestored(StudentRestoredEvent event) {
+        Student student = event.getStudent();
+        if (Boolean.TRUE.equals(student.getIsActive())) {
+            put(student.getId(), student.getFirstName(), student.getLastName(), student.getParentName());
+        }
+    }
+    
+    public List<StudentSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        
+        Set<Long> ids = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            trie.collect(key, limit, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        List<StudentSuggestion> suggestions = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                suggestions.add(new StudentSuggestion(id, entry.displayName));
+            }
+        }
+        return suggestions;
+    }
+    
+    public void put(Long id, String firstName, String lastName, String parentName) {
+        Set<String> terms = new LinkedHashSet<>();
+        addWords(firstName, terms);
+        addWords(lastName, terms);
+        addWords(parentName, terms);
+        addPhrase(firstName + " " + lastName, terms);
+        addPhrase(parentName, terms);
+        Entry entry = new Entry(displayName(firstName, lastName), terms);
+        
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(id, entry);
+            if (previous != null) {
+                previous.terms.forEach(term -> trie.remove(term, id));
+            }
+            terms.forEach(term -> trie.add(term, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                previous.terms.forEach(term -> trie.remove(term, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private static String displayName(String firstName, String lastName) {
+        return ((firstName == null ? "" : firstName.trim()) + " " + (lastName == null ? "" : lastName.trim())).trim();
+    }
+    
+    private static void addWords(String value, Set<String> terms) {
+        for (String word : normalize(value).split("\\s+")) {
+            if (!word.isEmpty()) {
+                terms.add(word);
+            }
+        }
+    }
+    
+    private static void addPhrase(String value, Set<String> terms) {
+        String phrase = normalize(value);
+        if (!phrase.isEmpty()) {
+            terms.add(phrase);
+        }
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,50 @@
+package com.playschool.management.service;
+
+import com.playschool.management.entity.Student;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+/**
+ * Field rules for a student about to be registered. Pure in-memory checks with no transaction or
+ * database access, so bulk paths (batch registration, CSV import) can run them per row for free.
+ */
+@Component
+public class StudentValidator {
+    
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    
+    /**
+     * Validate student data before registration
+     */
+    public void validate(Student student) {
+        if (student.getFirstName() == null || student.getFirstName().trim().isEmpty()) {
+            throw new IllegalArgumentException("First name is required");
+        }
+        
+        if (student.getLastName() == null || student.getLastName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Last name is required");
+        }
+        
+        if (student.getDateOfBirth() == null) {
+            throw new IllegalArgumentException("Date of birth is required");
+        }
+        
+        if (student.getDateOfBirth().isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Date of birth cannot be in the future");
+        }
+        
+        // Calculate age - should be between 1-6 years for playschool
+        int age = LocalDate.now().getYear() - student.getDateOfBirth().getYear();
+        if (age < 1 || age > 6) {
+            throw new IllegalArgumentException("Student age should be between 1-6 years for playschool");
+        }
+        
+        if (student.getParentEmail() != null && !student.getParentEmail().isEmpty()) {
+            if (!EMAIL.matcher(student.getParentEmail()).matches()) {
+                throw new IllegalArgumentException("Invalid parent email format");
+            }
+        }
+    }
+}
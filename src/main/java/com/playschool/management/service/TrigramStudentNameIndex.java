@@ -0,0 +1,232 @@
+package com.playschool.management.service;
+
+import com.playschool.management.entity.Student;
+import com.playschool.management.event.StudentChangedEvent;
+import com.playschool.management.event.StudentRestoredEvent;
+import com.playschool.management.event.StudentsArchivedEvent;
+import com.playschool.management.repository.StudentRepository;
+import com.playschool.management.repository.StudentRepository.StudentNameView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-process trigram inverted index over student first and last names.
+ * Queries only verify rows that contain every trigram of the query, and ranking keeps just the top
+ * offset + limit matches in a bounded heap. Queries shorter than a trigram return nothing.
+ */
+@Component
+@ConditionalOnProperty(name = "students.search.backend", havingValue = "memory", matchIfMissing = true)
+public class TrigramStudentNameIndex implements StudentNameIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TrigramStudentNameIndex.class);
+    
+    private static final int GRAM = MIN_QUERY_LENGTH;
+    
+    // Best first: exact, then prefix, then by substring position, then roster order
+    private static final Comparator<Match> MATCH_ORDER = Comparator.comparingInt((Match m) -> m.rank)
+            .thenComparing(m -> m.entry.lastName)
+            .thenComparing(m -> m.entry.firstName)
+            .thenComparing(m -> m.id);
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    
+    private static class Entry {
+        final String firstName;
+        final String lastName;
+        final Set<String> grams;
+        
+        Entry(String firstName, String lastName) {
+            this.firstName = normalize(firstName);
+            this.lastName = normalize(lastName);
+            this.grams = new HashSet<>();
+            addGrams(this.firstName, grams);
+            addGrams(this.lastName, grams);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<StudentNameView> names = studentRepository.streamNames()) {
+            names.forEach(view -> put(view.getId(), view.getFirstName(), view.getLastName()));
+        }
+        logger.info("Student name index loaded: {} students, {} trigrams", entries.size(), postings.size());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        put(event.getStudentId(), event.getStudent().getFirstName(), event.getStudent().getLastName());
+    }
+    
+    /**
+     * Archived students have left the students table, so search can no longer return them
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentsArchived(StudentsArchivedEvent event) {
+        event.getStudentIds().forEach(this::remove);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentRestored(StudentRestoredEvent event) {
+        Student student = event.getStudent();
+        put(student.getId(), student.getFirstName(), student.getLastName());
+    }
+    
+    public void put(Long id, String firstName, String lastName) {
+        Entry entry = new Entry(firstName, lastName);
+        Entry previous = entries.put(id, entry);
+        if (previous != null) {
+            for (String gram : previous.grams) {
+                if (!entry.grams.contains(gram)) {
+                    unlink(gram, id);
+                }
+            }
+        }
+        for (String gram : entry.grams) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+    
+    public void remove(Long id) {
+        Entry previous = entries.remove(id);
+        if (previous != null) {
+            previous.grams.forEach(gram -> unlink(gram, id));
+        }
+    }
+    
+    @Override
+    public List<Long> search(String query, int offset, int limit) {
+        String q = normalize(query);
+        if (q.length() < MIN_QUERY_LENGTH || limit <= 0) {
+            return Collections.emptyList();
+        }
+        
+        // Worst of the kept matches on top, so each candidate costs at most O(log k)
+        int keep = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        PriorityQueue<Match> top = new PriorityQueue<>(MATCH_ORDER.reversed());
+        for (Long id : candidates(q)) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            int rank = Math.min(rank(entry.firstName, q), rank(entry.lastName, q));
+            if (rank == Integer.MAX_VALUE) {
+                continue;
+            }
+            Match match = new Match(id, rank, entry);
+            if (top.size() < keep) {
+                top.add(match);
+            } else if (MATCH_ORDER.compare(match, top.peek()) < 0) {
+                top.poll();
+                top.add(match);
+            }
+        }
+        
+        return top.stream()
+                .sorted(MATCH_ORDER)
+                .skip(offset)
+                .map(m -> m.id)
+                .toList();
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    private Collection<Long> candidates(String q) {
+        Set<String> grams = new HashSet<>();
+        addGrams(q, grams);
+        
+        // Intersect posting lists, smallest first
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        
+        List<Long> result = new ArrayList<>();
+        outer:
+        for (Long id : lists.get(0)) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    continue outer;
+                }
+            }
+            result.add(id);
+        }
+        return result;
+    }
+    
+    /**
+     * Lower rank is better: exact name, then prefix, then earlier substring position
+     */
+    private static int rank(String name, String q) {
+        if (name.equals(q)) {
+            return 0;
+        }
+        int position = name.indexOf(q);
+        if (position < 0) {
+            return Integer.MAX_VALUE;
+        }
+        return position == 0 ? 1 : 2 + position;
+    }
+    
+    private void unlink(String gram, Long id) {
+        postings.computeIfPresent(gram, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+    
+    private static void addGrams(String value, Set<String> grams) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+    }
+    
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static class Match {
+        final Long id;
+        final int rank;
+        final Entry entry;
+        
+        Match(Long id, int rank, Entry entry) {
+            this.id = id;
+            this.rank = rank;
+            this.entry = entry;
+        }
+    }
+}
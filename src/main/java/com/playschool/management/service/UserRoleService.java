@@ -3,9 +3,12 @@ package com.playschool.management.service;
 import com.playschool.management.entity.Role;
 import com.playschool.management.entity.RoleName;
 import com.playschool.management.entity.User;
+import com.playschool.management.event.UserRolesChangedEvent;
+import com.playschool.management.event.UserStatusChangedEvent;
 import com.playschool.management.repository.RoleRepository;
 import com.playschool.management.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +27,9 @@ public class UserRoleService {
     @Autowired
     private RoleRepository roleRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * Add a role to a user
      */
@@ -34,9 +40,10 @@ public class UserRoleService {
         if (userOpt.isPresent() && roleOpt.isPresent()) {
             User user = userOpt.get();
             Role role = roleOpt.get();
+            Set<RoleName> previousRoles = UserRolesChangedEvent.namesOf(user.getRoles());
             
             user.getRoles().add(role);
-            return userRepository.save(user);
+            return saveAndPublish(user, previousRoles);
         }
         
         throw new RuntimeException("User or Role not found");
@@ -52,9 +59,10 @@ public class UserRoleService {
         if (userOpt.isPresent() && roleOpt.isPresent()) {
             User user = userOpt.get();
             Role role = roleOpt.get();
+            Set<RoleName> previousRoles = UserRolesChangedEvent.namesOf(user.getRoles());
             
             user.getRoles().remove(role);
-            return userRepository.save(user);
+            return saveAndPublish(user, previousRoles);
         }
         
         throw new RuntimeException("User or Role not found");
@@ -68,6 +76,7 @@ public class UserRoleService {
         
         if (userOpt.isPresent()) {
             User user = userOpt.get();
+            Set<RoleName> previousRoles = UserRolesChangedEvent.namesOf(user.getRoles());
             Set<Role> roles = new HashSet<>();
             
             for (RoleName roleName : roleNames) {
@@ -77,25 +86,42 @@ public class UserRoleService {
             }
             
             user.setRoles(roles);
-            return userRepository.save(user);
+            return saveAndPublish(user, previousRoles);
         }
         
         throw new RuntimeException("User not found");
     }
     
+    /**
+     * Deactivate or reactivate a user account. Bumps the roles version, so tokens issued before the change
+     * are checked against the database again and a deactivated user is refused.
+     */
+    public User setUserActive(Long userId, boolean active) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        if (Boolean.valueOf(active).equals(user.getIsActive())) {
+            return user;
+        }
+        user.setIsActive(active);
+        user.setRolesVersion(user.getRolesVersion() + 1);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserStatusChangedEvent(saved.getId(), active));
+        return saved;
+    }
+    
     /**
      * Get all users with a specific role
      */
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(RoleName roleName) {
-        return userRepository.findAll().stream()
-            .filter(user -> user.getRoles().stream()
-                .anyMatch(role -> role.getName().equals(roleName)))
-            .toList();
+        return userRepository.findAllWithRolesByRoleName(roleName);
     }
     
     /**
      * Check if user has a specific role
      */
+    @Transactional(readOnly = true)
     public boolean userHasRole(Long userId, RoleName roleName) {
         Optional<User> userOpt = userRepository.findById(userId);
         
@@ -111,6 +137,7 @@ public class UserRoleService {
     /**
      * Get all roles for a user
      */
+    @Transactional(readOnly = true)
     public Set<Role> getUserRoles(Long userId) {
         Optional<User> userOpt = userRepository.findById(userId);
         
@@ -120,4 +147,11 @@ public class UserRoleService {
         
         return new HashSet<>();
     }
+    
+    private User saveAndPublish(User user, Set<RoleName> previousRoles) {
+        user.setRolesVersion(user.getRolesVersion() + 1);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(UserRolesChangedEvent.changed(saved.getId(), previousRoles, saved.getRoles()));
+        return saved;
+    }
 }
@@ -0,0 +1,39 @@
+package com.playschool.management;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+import com.playschool.management.entity.Student;
+
+/**
+ * Unsaved students for tests that need many rows
+ */
+public final class StudentFixtures {
+
+    private StudentFixtures() {
+    }
+
+    /**
+     * count three-year-olds named firstName + i, "Student" + i, each with a parent email of their own
+     */
+    public static List<Student> students(String firstName, int count) {
+        return students(firstName, count, (student, i) -> { });
+    }
+
+    /**
+     * Same as students(firstName, count), with customize applied to each student and its index
+     */
+    public static List<Student> students(String firstName, int count, ObjIntConsumer<Student> customize) {
+        List<Student> students = new ArrayList<>(count);
+        LocalDate dateOfBirth = LocalDate.now().minusYears(3);
+        for (int i = 0; i < count; i++) {
+            Student student = new Student(firstName + i, "Student" + i, dateOfBirth);
+            student.setParentEmail("parent" + i + "@example.com");
+            customize.accept(student, i);
+            students.add(student);
+        }
+        return students;
+    }
+}
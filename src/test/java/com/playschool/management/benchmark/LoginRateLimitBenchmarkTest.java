@@ -0,0 +1,138 @@
+package com.playschool.management.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.security.ratelimit.LoginRateLimitFilter;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * Latency the sign-in rate limiter adds at a paced 10k requests per second from several threads, against
+ * the same requests sent straight to a chain that only reads the body. Each simulated client has its own
+ * IP and username, so every request is allowed and the numbers are the cost of the bucket updates.
+ * Run with: mvn test -Pbenchmark
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@Tag("benchmark")
+class LoginRateLimitBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginRateLimitBenchmarkTest.class);
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_SECOND = 10_000;
+    private static final int SECONDS = 3;
+    private static final int CLIENTS = 20_000;
+
+    @Autowired
+    private LoginRateLimitFilter rateLimitFilter;
+
+    @Test
+    void filterLatencyAtTenThousandRequestsPerSecond() throws Exception {
+        FilterChain readBody = (request, response) -> request.getInputStream().readAllBytes();
+        LongAdder rejected = new LongAdder();
+
+        // Warm up both paths; the warm-up clients are distinct from the measured ones
+        run(readBody, false, 1, 0, rejected);
+        run(readBody, true, 1, CLIENTS, rejected);
+
+        long[] baseline = run(readBody, false, SECONDS, 0, rejected);
+        long[] filtered = run(readBody, true, SECONDS, 2 * CLIENTS, rejected);
+
+        assertEquals(0, rejected.sum());
+        print("chain only", baseline);
+        print("rate limit filter", filtered);
+        log.info("added latency: p50 {} us, p99 {} us",
+                String.format("%.1f", (percentile(filtered, 0.50) - percentile(baseline, 0.50)) / 1000.0),
+                String.format("%.1f", (percentile(filtered, 0.99) - percentile(baseline, 0.99)) / 1000.0));
+    }
+
+    /**
+     * Each thread sends its share of REQUESTS_PER_SECOND on a fixed schedule and records the time spent
+     * in the filter (or the bare chain) per request
+     */
+    private long[] run(FilterChain chain, boolean throughFilter, int seconds, int clientOffset, LongAdder rejected)
+            throws Exception {
+        int perThread = REQUESTS_PER_SECOND / THREADS * seconds;
+        long spacingNanos = TimeUnit.SECONDS.toNanos(1) * THREADS / REQUESTS_PER_SECOND;
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> results = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            results.add(pool.submit(() -> {
+                long[] latencies = new long[perThread];
+                long next = System.nanoTime();
+                for (int i = 0; i < perThread; i++) {
+                    int client = clientOffset + (thread * perThread + i) % CLIENTS;
+                    MockHttpServletRequest request = signinRequest(client);
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+
+                    LockSupport.parkNanos(next - System.nanoTime());
+                    long start = System.nanoTime();
+                    if (throughFilter) {
+                        rateLimitFilter.doFilter(request, response, chain);
+                    } else {
+                        chain.doFilter(request, response);
+                    }
+                    latencies[i] = System.nanoTime() - start;
+
+                    if (response.getStatus() == 429) {
+                        rejected.increment();
+                    }
+                    next += spacingNanos;
+                }
+                return latencies;
+            }));
+        }
+
+        long[] all = new long[perThread * THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            System.arraycopy(results.get(t).get(), 0, all, t * perThread, perThread);
+        }
+        pool.shutdown();
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static MockHttpServletRequest signinRequest(int client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signin");
+        request.setRemoteAddr("10." + (client >> 16 & 0xff) + "." + (client >> 8 & 0xff) + "." + (client & 0xff));
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(("{\"username\":\"user" + client + "\",\"password\":\"secret12\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static void print(String label, long[] sorted) {
+        log.info(String.format("%-18s p50 %6.1f us  p99 %6.1f us  p99.9 %6.1f us  (%,d requests)", label,
+                percentile(sorted, 0.50) / 1000.0, percentile(sorted, 0.99) / 1000.0,
+                percentile(sorted, 0.999) / 1000.0, sorted.length));
+    }
+}
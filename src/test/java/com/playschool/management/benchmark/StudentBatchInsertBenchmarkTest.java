@@ -0,0 +1,73 @@
+package com.playschool.management.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import static com.playschool.management.StudentFixtures.students;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.entity.Student;
+import com.playschool.management.repository.StudentRepository;
+import com.playschool.management.service.StudentService;
+
+/**
+ * Rows per second for one-student-per-call registration versus the batched path.
+ * Run with: mvn test -Pbenchmark
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class StudentBatchInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentBatchInsertBenchmarkTest.class);
+
+    private static final int ROWS = 5000;
+    private static final int CHUNK = 500;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void singleRowVersusBatchedInserts() {
+        // Warm up both paths so JIT and connection pool effects do not skew the first measurement
+        registerOneByOne(students("Bench", 200));
+        studentService.registerStudentsBatch(students("Bench", 200));
+        studentRepository.deleteAllInBatch();
+
+        long singleNanos = registerOneByOne(students("Bench", ROWS));
+        studentRepository.deleteAllInBatch();
+
+        long batchStart = System.nanoTime();
+        List<Student> all = students("Bench", ROWS);
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            studentService.registerStudentsBatch(all.subList(from, Math.min(from + CHUNK, ROWS)));
+        }
+        long batchNanos = System.nanoTime() - batchStart;
+
+        assertEquals(ROWS, studentRepository.count());
+        log.info("single-row inserts: {} rows/s", String.format("%,.0f", rowsPerSecond(singleNanos)));
+        log.info("batched inserts:    {} rows/s", String.format("%,.0f", rowsPerSecond(batchNanos)));
+        studentRepository.deleteAllInBatch();
+    }
+
+    private long registerOneByOne(List<Student> students) {
+        long start = System.nanoTime();
+        students.forEach(studentService::registerStudent);
+        return System.nanoTime() - start;
+    }
+
+    private static double rowsPerSecond(long nanos) {
+        return ROWS / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.playschool.management.benchmark;
+
+import static com.playschool.management.StudentFixtures.students;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.playschool.management.entity.Student;
+import com.playschool.management.repository.StudentRepository;
+import com.playschool.management.service.StudentService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Latency and allocation for reading every active student three ways: managed entities in a read-write
+ * transaction, read-only entities in a read-only transaction, and a StatelessSession stream.
+ * Run with: mvn test -Pbenchmark
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@Tag("benchmark")
+class StudentReadPathBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentReadPathBenchmarkTest.class);
+
+    private static final int ROWS = 20000;
+    private static final int CHUNK = 500;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void managedVersusReadOnlyVersusStateless() {
+        List<Student> all = students("Read", ROWS,
+                (student, i) -> student.setMedicalInfo("No known conditions, regular check-up every six months " + i));
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            studentService.registerStudentsBatch(all.subList(from, Math.min(from + CHUNK, ROWS)));
+        }
+
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Plain JPQL without hints, as every read endpoint did before
+        LongSupplier managed = () -> readWrite.execute(status -> (long) entityManager
+                .createQuery("SELECT s FROM Student s WHERE s.isActive = true", Student.class)
+                .getResultList().size());
+        LongSupplier readOnlyEntities = () -> readOnly.execute(status ->
+                (long) studentRepository.findByIsActiveTrue().size());
+        LongSupplier stateless = () -> readOnly.execute(status -> {
+            try (Stream<Student> students = studentRepository.streamActiveStudentsStateless(CHUNK)) {
+                return students.count();
+            }
+        });
+
+        report("managed, read-write tx  ", managed);
+        report("read-only tx + hint     ", readOnlyEntities);
+        report("StatelessSession stream ", stateless);
+        studentRepository.deleteAllInBatch();
+    }
+
+    private void report(String label, LongSupplier read) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals(ROWS, read.getAsLong());
+        }
+        long nanos = 0;
+        long bytes = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            assertEquals(ROWS, read.getAsLong());
+            nanos += System.nanoTime() - start;
+            bytes += allocatedBytes() - allocatedBefore;
+        }
+        log.info("{} {} ms/read  {} MB allocated/read", label,
+                String.format("%,7.1f", nanos / 1_000_000.0 / RUNS), String.format("%,7.1f", bytes / (1024.0 * 1024.0) / RUNS));
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
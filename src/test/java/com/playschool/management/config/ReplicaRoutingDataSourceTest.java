@@ -0,0 +1,118 @@
+package com.playschool.management.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Routing between two separate H2 databases, each of which knows which one it is: read-only
+ * transactions go to the replica, writes and reads-after-write to the primary, and reads fall back to
+ * the primary when the replica cannot be reached
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("teacher", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        routing.close();
+        primary.close();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        route(database("replica"));
+
+        assertEquals("replica", whoAmI(true));
+        assertEquals("primary", whoAmI(false));
+    }
+
+    @Test
+    void readWriteTransactionThatOnlyReadsDoesNotPinTheUser() {
+        route(database("replica"));
+
+        whoAmI(false);
+
+        assertEquals("replica", whoAmI(true));
+    }
+
+    @Test
+    void readsAfterACommittedWriteStayOnThePrimary() {
+        route(database("replica"));
+
+        transaction(false).executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE whoami SET reads = reads + 1"));
+
+        assertEquals("primary", whoAmI(true));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other", null, List.of()));
+        assertEquals("replica", whoAmI(true));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsDown() {
+        HikariDataSource unreachable = new HikariDataSource();
+        unreachable.setJdbcUrl("jdbc:h2:tcp://localhost:1/unreachable");
+        unreachable.setUsername("sa");
+        unreachable.setConnectionTimeout(250);
+        unreachable.setInitializationFailTimeout(-1);
+        route(unreachable);
+
+        assertEquals("primary", whoAmI(true));
+        assertEquals("primary", whoAmI(true));
+    }
+
+    private void route(HikariDataSource replica) {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1), Duration.ofHours(1));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    private String whoAmI(boolean readOnly) {
+        return transaction(readOnly).execute(status ->
+                jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPoolName(name);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20), reads INT)");
+        jdbc.update("INSERT INTO whoami VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,104 @@
+package com.playschool.management.controller;
+
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.playschool.management.entity.Student;
+import com.playschool.management.service.StudentService;
+
+/**
+ * Callers without "*" in students.fields.allowed.* must never see restricted properties, whether or
+ * not they send ?fields=
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentFieldPolicyTest {
+
+    private static final RequestPostProcessor TEACHER = user("teacher").roles("TEACHER");
+    private static final RequestPostProcessor ADMIN = user("admin").roles("ADMIN");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    private Student student;
+
+    @BeforeEach
+    void registerStudent() {
+        Student s = new Student();
+        s.setFirstName("Fieldpolicy");
+        s.setLastName("Zyxwv");
+        s.setDateOfBirth(LocalDate.now().minusYears(4));
+        s.setGender("F");
+        s.setAddress("12 Secret Lane");
+        s.setParentName("Pat Zyxwv");
+        s.setParentPhone("5550100");
+        s.setParentEmail("pat.zyxwv@example.com");
+        s.setMedicalInfo("Asthma");
+        s.setAllergies("Peanuts");
+        s.setEnrollmentDate(LocalDate.now());
+        student = studentService.registerStudentWithValidation(s);
+    }
+
+    @Test
+    void anonymousCallersOnlySeeAnonymousFields() throws Exception {
+        for (MockHttpServletRequestBuilder request : List.of(
+                get("/api/students/public/list"),
+                get("/api/students/public/list").param("view", "summary"))) {
+            expectWithout(request, "address", "parentEmail", "parentPhone", "medicalInfo", "allergies",
+                    "dateOfBirth", "parentName");
+        }
+        mockMvc.perform(get("/api/students/public/list").param("fields", "id,medicalInfo"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void teachersNeverSeeAddressOrParentEmail() throws Exception {
+        for (MockHttpServletRequestBuilder request : List.of(
+                get("/api/students"),
+                get("/api/students").param("view", "summary"),
+                get("/api/students/{id}", student.getId()),
+                get("/api/students/search").param("name", "Zyxwv"),
+                get("/api/students/parent/{email}", "pat.zyxwv@example.com"),
+                get("/api/students/query").param("name", "Zyxwv"))) {
+            expectWithout(request.with(TEACHER), "address", "parentEmail");
+        }
+        mockMvc.perform(get("/api/students/{id}", student.getId()).param("fields", "id,address").with(TEACHER))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminsStillGetTheFullResponse() throws Exception {
+        mockMvc.perform(get("/api/students/{id}", student.getId()).with(ADMIN))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"address\":\"12 Secret Lane\"")))
+                .andExpect(content().string(containsString("\"parentEmail\":\"pat.zyxwv@example.com\"")));
+    }
+
+    private void expectWithout(MockHttpServletRequestBuilder request, String... properties) throws Exception {
+        var result = mockMvc.perform(request).andExpect(status().isOk());
+        for (String property : properties) {
+            result.andExpect(content().string(not(containsString("\"" + property + "\""))));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.playschool.management.controller;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.playschool.management.entity.Student;
+import com.playschool.management.service.StudentETags;
+import com.playschool.management.service.StudentService;
+
+/**
+ * PATCH /api/students/{id} as JSON Merge Patch, and the ETag preconditions on PATCH, PUT and GET
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentMergePatchTest {
+
+    private static final RequestPostProcessor ADMIN = user("admin").roles("ADMIN");
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentService studentService;
+
+    private Student student;
+
+    @BeforeEach
+    void registerStudent() {
+        Student s = new Student();
+        s.setFirstName("Patchy");
+        s.setLastName("Mergewell");
+        s.setDateOfBirth(LocalDate.now().minusYears(4));
+        s.setGender("M");
+        s.setParentName("Pat Mergewell");
+        s.setParentEmail("pat.mergewell@example.com");
+        s.setAllergies("Peanuts");
+        s.setEnrollmentDate(LocalDate.now());
+        student = studentService.registerStudentWithValidation(s);
+    }
+
+    @Test
+    void nullMemberClearsTheField() throws Exception {
+        mockMvc.perform(patch("/api/students/{id}", student.getId()).with(ADMIN)
+                        .contentType(MERGE_PATCH).content("{\"allergies\":null,\"address\":\"1 Main St\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(student.getVersion() + 1)));
+
+        mockMvc.perform(get("/api/students/{id}", student.getId()).with(ADMIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allergies").doesNotExist())
+                .andExpect(jsonPath("$.address").value("1 Main St"))
+                .andExpect(jsonPath("$.firstName").value("Patchy"));
+    }
+
+    @Test
+    void unknownOrInvalidMembersAreRejected() throws Exception {
+        mockMvc.perform(patch("/api/students/{id}", student.getId()).with(ADMIN)
+                        .contentType(MERGE_PATCH).content("{\"isActive\":false}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/students/{id}", student.getId()).with(ADMIN)
+                        .contentType(MERGE_PATCH).content("{\"firstName\":null}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/students/{id}", student.getId()).with(ADMIN)
+                        .contentType(MERGE_PATCH).content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void staleIfMatchOnPatchIsAConflict() throws Exception {
+        String current = etag(student.getVersion());
+        mockMvc.perform(patch("/api/students/{id}", student.getId()).with(ADMIN)
+                        .header(HttpHeaders.IF_MATCH, current)
+                        .contentType(MERGE_PATCH).content("{\"medicalInfo\":\"Asthma\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(patch("/api/students/{id}", student.getId()).with(ADMIN)
+                        .header(HttpHeaders.IF_MATCH, current)
+                        .contentType(MERGE_PATCH).content("{\"medicalInfo\":\"None\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void staleIfMatchOnPutFailsThePrecondition() throws Exception {
+        String body = "{\"firstName\":\"Patchy\",\"lastName\":\"Mergewell\",\"dateOfBirth\":\""
+                + student.getDateOfBirth() + "\",\"gender\":\"M\",\"parentName\":\"Pat Mergewell\","
+                + "\"parentEmail\":\"pat.mergewell@example.com\"}";
+
+        mockMvc.perform(put("/api/students/{id}", student.getId()).with(ADMIN)
+                        .header(HttpHeaders.IF_MATCH, etag(student.getVersion() + 5))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/students/{id}", student.getId()).with(ADMIN)
+                        .header(HttpHeaders.IF_MATCH, etag(student.getVersion()))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(student.getVersion() + 1)));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() throws Exception {
+        String tag = mockMvc.perform(get("/api/students/{id}", student.getId()).with(ADMIN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/students/{id}", student.getId()).with(ADMIN).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void fastPathPatchChangesTheCollectionTag() throws Exception {
+        String tag = mockMvc.perform(get("/api/students").with(ADMIN))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/students/{id}", student.getId()).with(ADMIN)
+                        .header(HttpHeaders.IF_MATCH, etag(student.getVersion()))
+                        .contentType(MERGE_PATCH).content("{\"allergies\":\"Shellfish\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/students").with(ADMIN).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(long version) {
+        return StudentETags.forStudent(student.getId(), version, null);
+    }
+}
@@ -0,0 +1,169 @@
+package com.playschool.management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.StudentFixtures;
+import com.playschool.management.config.StudentIndexMigration;
+import com.playschool.management.dto.request.StudentQueryRequest;
+import com.playschool.management.entity.Student;
+import com.playschool.management.service.StudentService;
+
+/**
+ * EXPLAINs the SQL that GET /api/students/query generates and checks PostgreSQL serves each filter shape
+ * from the partial and prefix indexes rather than a sequential scan. Criteria values are inlined so the
+ * captured statement can be explained as is.
+ * Needs a disposable PostgreSQL database (PG_TEST_URL, PG_TEST_USERNAME, PG_TEST_PASSWORD); run with: mvn test -Ppostgres
+ * (the postgres-tests CI job does this against a service container)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${PG_TEST_URL:jdbc:postgresql://localhost:5432/playschool_test}",
+        "spring.datasource.username=${PG_TEST_USERNAME:postgres}",
+        "spring.datasource.password=${PG_TEST_PASSWORD:postgres}",
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.playschool.management.repository.StudentQueryPlanTest$CapturingInspector"
+})
+@ActiveProfiles("test")
+@Tag("postgres")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentQueryPlanTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentQueryPlanTest.class);
+
+    private static final int ROWS = 20000;
+    private static final int CHUNK = 500;
+    private static final int LIMIT = 50;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StudentIndexMigration indexMigration;
+
+    @BeforeAll
+    void seed() throws Exception {
+        // The application builds these in the background; wait for them here
+        indexMigration.migrate();
+        List<Student> all = students(ROWS);
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            studentService.registerStudentsBatch(all.subList(from, Math.min(from + CHUNK, ROWS)));
+        }
+        jdbcTemplate.execute("ANALYZE students");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        studentRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void rosterOrderUsesActiveRosterIndex() {
+        String plan = explain(query -> { });
+        assertIndexScan(plan, "idx_students_roster_active");
+    }
+
+    @Test
+    void namePrefixUsesPrefixIndexes() {
+        String plan = explain(query -> query.setNamePrefix("zq"));
+        assertIndexScan(plan, "_name_prefix");
+    }
+
+    @Test
+    void enrolmentRangeUsesPartialEnrolledIndex() {
+        LocalDate day = LocalDate.now().minusDays(400);
+        String plan = explain(query -> {
+            query.setEnrolledFrom(day);
+            query.setEnrolledTo(day.plusDays(2));
+        });
+        assertIndexScan(plan, "idx_students_enrolled_active");
+    }
+
+    @Test
+    void combinedFiltersStayOnIndexes() {
+        String plan = explain(query -> {
+            query.setMinAge(3);
+            query.setMaxAge(4);
+            query.setHasAllergies(true);
+            query.setGender("f");
+        });
+        assertIndexScan(plan, "idx_students_");
+    }
+
+    private String explain(Consumer<StudentQueryRequest> filters) {
+        StudentQueryRequest query = new StudentQueryRequest();
+        filters.accept(query);
+        CapturingInspector.last = null;
+        studentService.queryStudentSummariesPage(query, null, LIMIT);
+        String sql = CapturingInspector.last;
+        assertNotNull(sql, "no students query was captured");
+
+        // Only the row limit is still a bind parameter
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql.replace("?", String.valueOf(LIMIT + 1)),
+                String.class);
+        String text = String.join("\n", plan);
+        log.info("Plan for {}\n{}", sql, text);
+        return text;
+    }
+
+    private static void assertIndexScan(String plan, String index) {
+        assertFalse(plan.contains("Seq Scan on students"), plan);
+        assertTrue(plan.contains(index), plan);
+    }
+
+    // A handful of rare surnames for the prefix filter, the rest spread over a few hundred families
+    private static List<Student> students(int count) {
+        LocalDate today = LocalDate.now();
+        return StudentFixtures.students("Child", count, (student, i) -> {
+            student.setLastName(i % 1000 == 0 ? "Zquist" + i : "Family" + (i % 400));
+            student.setDateOfBirth(today.minusDays(365 + (i * 7L) % (6 * 365)));
+            student.setGender(i % 2 == 0 ? "F" : "M");
+            student.setEnrollmentDate(today.minusDays(i % 1095));
+            if (i % 10 == 0) {
+                student.setAllergies("Peanuts");
+            }
+        });
+    }
+
+    /**
+     * Keeps the last SELECT on students, so the test can EXPLAIN exactly what the query builder produced
+     */
+    public static class CapturingInspector implements StatementInspector {
+
+        static volatile String last;
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select") && sql.contains(" from students ")) {
+                last = sql;
+            }
+            return sql;
+        }
+    }
+}
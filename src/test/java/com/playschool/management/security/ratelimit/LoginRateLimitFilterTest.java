@@ -0,0 +1,66 @@
+package com.playschool.management.security.ratelimit;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Sign-in attempts past the per-username limit get a 429 with Retry-After and the RateLimit headers,
+ * and other usernames from the same address are unaffected
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "rate-limit.signin.per-username=2/1m"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginRateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void rejectsPastTheLimitWithRateLimitHeaders() throws Exception {
+        mockMvc.perform(signin("limited"))
+                .andExpect(status().is(not(429)))
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+        mockMvc.perform(signin("limited"))
+                .andExpect(status().is(not(429)))
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+
+        MockHttpServletResponse rejected = mockMvc.perform(signin("limited"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andReturn().getResponse();
+        // One token comes back every 30 seconds; the bucket is full again a minute after the first attempt
+        int retryAfter = Integer.parseInt(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        int reset = Integer.parseInt(rejected.getHeader("RateLimit-Reset"));
+        assertTrue(retryAfter > 0 && retryAfter <= 30, "Retry-After " + retryAfter);
+        assertTrue(reset > 30 && reset <= 60, "RateLimit-Reset " + reset);
+
+        mockMvc.perform(signin("someone-else"))
+                .andExpect(status().is(not(429)));
+    }
+
+    private static MockHttpServletRequestBuilder signin(String username) {
+        return post("/api/auth/signin")
+                .with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"wrong-password\"}");
+    }
+}
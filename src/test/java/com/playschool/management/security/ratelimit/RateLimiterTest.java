@@ -0,0 +1,93 @@
+package com.playschool.management.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * GCRA buckets on a stepped clock: a full burst, then one token back per period / capacity
+ */
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimiter.Limit threePerThreeSeconds = RateLimiter.Limit.parse("test", "3/3s");
+    private RateLimiter limiter;
+
+    @AfterEach
+    void shutdown() {
+        if (limiter != null) {
+            limiter.shutdown();
+        }
+    }
+
+    @Test
+    void allowsABurstThenRefillsOneTokenPerInterval() {
+        limiter = new RateLimiter(100, Duration.ofHours(1));
+        long now = 1_000 * SECOND;
+
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            RateLimiter.Decision decision = limiter.tryAcquire(threePerThreeSeconds, "key", now);
+            assertTrue(decision.isAllowed());
+            assertEquals(remaining, decision.getRemaining());
+        }
+
+        RateLimiter.Decision denied = limiter.tryAcquire(threePerThreeSeconds, "key", now);
+        assertFalse(denied.isAllowed());
+        assertEquals(3, denied.getLimit());
+        assertEquals(0, denied.getRemaining());
+        assertEquals(1, denied.getRetryAfterSeconds());
+        assertEquals(3, denied.getResetSeconds());
+
+        assertFalse(limiter.tryAcquire(threePerThreeSeconds, "key", now + SECOND - 1).isAllowed());
+        RateLimiter.Decision refilled = limiter.tryAcquire(threePerThreeSeconds, "key", now + SECOND);
+        assertTrue(refilled.isAllowed());
+        assertEquals(0, refilled.getRemaining());
+
+        // Idle for a whole period: the bucket is full again, but never fuller
+        RateLimiter.Decision full = limiter.tryAcquire(threePerThreeSeconds, "key", now + 60 * SECOND);
+        assertEquals(2, full.getRemaining());
+    }
+
+    @Test
+    void keysAndLimitsHaveSeparateBuckets() {
+        limiter = new RateLimiter(100, Duration.ofHours(1));
+        RateLimiter.Limit other = RateLimiter.Limit.parse("other", "1/1m");
+        long now = 1_000 * SECOND;
+
+        assertTrue(limiter.tryAcquire(other, "a", now).isAllowed());
+        assertFalse(limiter.tryAcquire(other, "a", now).isAllowed());
+        assertTrue(limiter.tryAcquire(other, "b", now).isAllowed());
+        assertTrue(limiter.tryAcquire(threePerThreeSeconds, "a", now).isAllowed());
+    }
+
+    @Test
+    void newKeysPastMaxKeysAreAllowedUntracked() {
+        limiter = new RateLimiter(1, Duration.ofHours(1));
+        RateLimiter.Limit one = RateLimiter.Limit.parse("one", "1/1h");
+        long now = System.nanoTime();
+
+        assertTrue(limiter.tryAcquire(one, "tracked", now).isAllowed());
+        assertFalse(limiter.tryAcquire(one, "tracked", now).isAllowed());
+        assertTrue(limiter.tryAcquire(one, "spray-1", now).isAllowed());
+        assertTrue(limiter.tryAcquire(one, "spray-1", now).isAllowed());
+        assertEquals(2, limiter.getUntrackedCount());
+        assertFalse(limiter.tryAcquire(one, "tracked", now).isAllowed());
+    }
+
+    @Test
+    void parsesLimits() {
+        RateLimiter.Limit limit = RateLimiter.Limit.parse("signin", " 20 / 1m ");
+
+        assertEquals(20, limit.getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.Limit.parse("bad", "20"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimiter.Limit.parse("bad", "0/1m"));
+    }
+}
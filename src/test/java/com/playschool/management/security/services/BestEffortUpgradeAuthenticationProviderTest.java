@@ -0,0 +1,93 @@
+package com.playschool.management.security.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * A correct password still signs in when re-hashing it to the current cost is turned away
+ */
+class BestEffortUpgradeAuthenticationProviderTest {
+
+    private final AtomicInteger upgrades = new AtomicInteger();
+
+    @Test
+    void loginSucceedsWhenTheUpgradeIsRejected() {
+        BestEffortUpgradeAuthenticationProvider provider = provider(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                // Only the upgrade is turned away; the provider also encodes a dummy password for timing protection
+                if ("secret12".contentEquals(rawPassword)) {
+                    throw new PasswordHashingRejectedException(2);
+                }
+                return "dummy-hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return "secret12".contentEquals(rawPassword);
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return true;
+            }
+        });
+
+        Authentication result = provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("teacher", "secret12"));
+
+        assertTrue(result.isAuthenticated());
+        assertEquals("teacher", result.getName());
+        assertEquals(0, upgrades.get());
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("teacher", "wrong")));
+    }
+
+    @Test
+    void upgradesWhenHashingIsAvailable() {
+        BestEffortUpgradeAuthenticationProvider provider = provider(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "rehashed";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return true;
+            }
+        });
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("teacher", "secret12"));
+
+        assertEquals(1, upgrades.get());
+    }
+
+    @SuppressWarnings("deprecation")
+    private BestEffortUpgradeAuthenticationProvider provider(PasswordEncoder encoder) {
+        UserDetails teacher = User.withUsername("teacher").password("old-hash").roles("TEACHER").build();
+        BestEffortUpgradeAuthenticationProvider provider = new BestEffortUpgradeAuthenticationProvider();
+        provider.setUserDetailsService(username -> teacher);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            upgrades.incrementAndGet();
+            return User.withUserDetails(user).password(newPassword).build();
+        });
+        return provider;
+    }
+}
@@ -0,0 +1,77 @@
+package com.playschool.management.security.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.entity.User;
+import com.playschool.management.repository.UserRepository;
+
+/**
+ * Each refresh token works once; presenting a rotated token again revokes its whole family, so a
+ * stolen token and the legitimate client's current one both stop working
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String name = "refresh-" + UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(new User(name, name + "@example.com", "not-a-real-hash", "Ref", "Resh"));
+    }
+
+    @Test
+    void rotationIssuesANewTokenAndRetiresTheOldOne() {
+        String first = refreshTokenService.issue(user.getId());
+
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(first);
+
+        assertTrue(rotation.isPresent());
+        assertEquals(user.getUsername(), rotation.get().getPrincipal().getUsername());
+        assertNotEquals(first, rotation.get().getRefreshToken());
+        assertTrue(refreshTokenService.rotate(rotation.get().getRefreshToken()).isPresent());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheFamily() {
+        String first = refreshTokenService.issue(user.getId());
+        String second = refreshTokenService.rotate(first).orElseThrow().getRefreshToken();
+        String otherFamily = refreshTokenService.issue(user.getId());
+
+        assertTrue(refreshTokenService.rotate(first).isEmpty());
+
+        assertTrue(refreshTokenService.rotate(second).isEmpty());
+        assertTrue(refreshTokenService.rotate(otherFamily).isPresent());
+    }
+
+    @Test
+    void logoutAndDeactivationEndTheFamily() {
+        String loggedOut = refreshTokenService.issue(user.getId());
+        refreshTokenService.revoke(loggedOut);
+        assertTrue(refreshTokenService.rotate(loggedOut).isEmpty());
+
+        String token = refreshTokenService.issue(user.getId());
+        user.setIsActive(false);
+        userRepository.save(user);
+        assertTrue(refreshTokenService.rotate(token).isEmpty());
+        assertTrue(refreshTokenService.rotate("never-issued").isEmpty());
+    }
+}
@@ -0,0 +1,59 @@
+package com.playschool.management.security.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.entity.RevokedToken;
+import com.playschool.management.repository.RevokedTokenRepository;
+
+/**
+ * Local revocations apply at once; revocations written by other instances arrive with the next
+ * rebuild, which also drops expired rows
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "jwt.revocation.rebuild-interval=1h"})
+@ActiveProfiles("test")
+class TokenRevocationListTest {
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    void localRevocationsApplyImmediatelyAndSurviveARebuild() {
+        String jti = UUID.randomUUID().toString();
+        assertFalse(revocationList.isRevoked(jti));
+
+        revocationList.revoke(jti, new Date(System.currentTimeMillis() + 60_000));
+
+        assertTrue(revocationList.isRevoked(jti));
+        revocationList.rebuild();
+        assertTrue(revocationList.isRevoked(jti));
+        assertFalse(revocationList.isRevoked(null));
+    }
+
+    @Test
+    void rebuildPicksUpOtherInstancesAndDropsExpiredRows() {
+        String remote = UUID.randomUUID().toString();
+        String expired = UUID.randomUUID().toString();
+        revokedTokenRepository.save(new RevokedToken(remote, LocalDateTime.now().plusMinutes(5)));
+        revokedTokenRepository.save(new RevokedToken(expired, LocalDateTime.now().minusMinutes(5)));
+        assertFalse(revocationList.isRevoked(remote));
+
+        revocationList.rebuild();
+
+        assertTrue(revocationList.isRevoked(remote));
+        assertFalse(revocationList.isRevoked(expired));
+        assertFalse(revokedTokenRepository.existsById(expired));
+    }
+}
@@ -0,0 +1,87 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.entity.Student;
+
+import jakarta.validation.Validator;
+
+/**
+ * PUT and PATCH of an archived student move it back into the hot table, still inactive, and apply the edit
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class ArchivedStudentEditTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentArchiveService studentArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Test
+    void putRestoresTheArchivedStudent() {
+        Student student = archivedStudent("Putarch");
+        student.setFirstName("Restored");
+
+        Student updated = studentService.updateStudent(student.getId(), student, null);
+
+        assertEquals("Restored", updated.getFirstName());
+        assertFalse(updated.getIsActive());
+        assertArchived(student.getId(), false);
+    }
+
+    @Test
+    void patchRestoresTheArchivedStudent() throws Exception {
+        Student student = archivedStudent("Patcharch");
+        StudentMergePatch patch = StudentMergePatch.parse(
+                objectMapper.readTree("{\"allergies\":\"Pollen\"}"), objectMapper, validator);
+
+        Optional<Long> version = studentService.patchStudent(student.getId(), patch, student.getVersion());
+
+        assertEquals(Optional.of(student.getVersion() + 1), version);
+        assertEquals("Pollen", studentService.getStudentById(student.getId()).orElseThrow().getAllergies());
+        assertArchived(student.getId(), false);
+    }
+
+    private Student archivedStudent(String lastName) {
+        Student student = new Student("Ada", lastName, LocalDate.now().minusYears(5));
+        student.setGender("F");
+        student.setParentName("Pat " + lastName);
+        student.setParentEmail(lastName.toLowerCase() + "@example.com");
+        student = studentService.registerStudent(student);
+        studentService.deactivateStudent(student.getId());
+        jdbcTemplate.update("UPDATE students SET updated_at = ? WHERE id = ?",
+                LocalDateTime.now().minusYears(3), student.getId());
+        studentArchiveService.archive();
+        assertArchived(student.getId(), true);
+        return studentService.getStudentById(student.getId()).orElseThrow();
+    }
+
+    private void assertArchived(Long id, boolean archived) {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students_archive WHERE id = ?", Integer.class, id);
+        assertTrue(archived ? rows == 1 : rows == 0, "student " + id + " archived: " + rows);
+    }
+}
@@ -0,0 +1,60 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RFC 4180 quoting: commas, doubled quotes and line breaks inside quoted fields, CRLF and LF endings
+ */
+class CsvReaderTest {
+
+    @Test
+    void splitsPlainFieldsAndKeepsEmptyOnes() throws IOException {
+        CsvReader csv = reader("a,b,,d\n,\n");
+
+        assertEquals(List.of("a", "b", "", "d"), csv.readRecord());
+        assertEquals(List.of("", ""), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void quotedFieldsMayContainCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader csv = reader("\"Smith, Jr\",\"say \"\"hi\"\"\",\"line one\nline two\"\r\nnext,row");
+
+        assertEquals(List.of("Smith, Jr", "say \"hi\"", "line one\nline two"), csv.readRecord());
+        assertEquals(List.of("next", "row"), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void handlesCrlfAndMissingFinalNewline() throws IOException {
+        CsvReader csv = reader("a,b\r\nc,d");
+
+        assertEquals(List.of("a", "b"), csv.readRecord());
+        assertEquals(List.of("c", "d"), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void quotesOnlyOpenAQuotedFieldAtTheStart() throws IOException {
+        assertEquals(List.of("5\" tall", "x"), reader("5\" tall,x\n").readRecord());
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuotedField() {
+        CsvReader csv = reader("a,\"never closed\nmore");
+
+        assertThrows(IOException.class, csv::readRecord);
+    }
+
+    private static CsvReader reader(String text) {
+        return new CsvReader(new StringReader(text));
+    }
+}
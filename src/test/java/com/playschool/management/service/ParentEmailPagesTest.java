@@ -0,0 +1,75 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.dto.response.PageResponse;
+import com.playschool.management.dto.response.StudentSummaryResponse;
+import com.playschool.management.entity.Student;
+
+/**
+ * The full, summary and fields views of a parent's students come from the same ParentEmailCache ids,
+ * so they page through the same students in the same order, before and after a student moves away
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class ParentEmailPagesTest {
+
+    private static final String EMAIL = "Sam.Sibling@Example.com";
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void allViewsPageThroughTheSameStudents() {
+        List<Student> registered = new ArrayList<>();
+        for (String[] name : new String[][] {{"Ivy", "Sibling"}, {"Ann", "Sibling"}, {"Ann", "Sibling"}}) {
+            Student student = new Student(name[0], name[1], LocalDate.now().minusYears(4));
+            student.setGender("F");
+            student.setParentName("Sam Sibling");
+            student.setParentEmail(EMAIL);
+            registered.add(studentService.registerStudent(student));
+        }
+        List<Long> expected = registered.stream()
+                .map(StudentCursor::after)
+                .sorted(StudentCursor.ORDER)
+                .map(StudentCursor::getId)
+                .toList();
+        assertAllViews(expected);
+
+        Student moved = registered.get(0);
+        moved.setParentEmail("someone.else@example.com");
+        studentService.updateStudent(moved.getId(), moved, null);
+        assertAllViews(expected.stream().filter(id -> !id.equals(moved.getId())).toList());
+    }
+
+    private void assertAllViews(List<Long> expected) {
+        StudentFieldSet fields = StudentFieldSet.parse("id,firstName");
+        assertEquals(expected, walk(cursor -> studentService.getStudentsByParentEmailPage(EMAIL, cursor, 2), Student::getId));
+        assertEquals(expected, walk(cursor -> studentService.getStudentSummariesByParentEmailPage(EMAIL, cursor, 2),
+                StudentSummaryResponse::getId));
+        assertEquals(expected, walk(cursor -> studentService.getStudentFieldsByParentEmailPage(EMAIL, fields, cursor, 2),
+                (Map<String, Object> row) -> (Long) row.get("id")));
+    }
+
+    private static <T> List<Long> walk(Function<String, PageResponse<T>> pages, Function<T, Long> idOf) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<T> page = pages.apply(cursor);
+            page.getItems().forEach(row -> ids.add(idOf.apply(row)));
+            cursor = page.getNext();
+        } while (cursor != null);
+        return ids;
+    }
+}
@@ -0,0 +1,76 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Edge splitting on insert, re-merging on remove, and prefix collection in term order
+ */
+class RadixTrieTest {
+
+    @Test
+    void collectsIdsUnderAPrefixInTermOrder() {
+        RadixTrie trie = trie("sam", 1, "samuel", 2, "sara", 3, "bob", 4);
+
+        assertEquals(List.of(1L, 2L, 3L), collect(trie, "sa", 10));
+        assertEquals(List.of(1L, 2L), collect(trie, "sam", 10));
+        assertEquals(List.of(2L), collect(trie, "samu", 10));
+        assertEquals(List.of(4L, 1L, 2L, 3L), collect(trie, "", 10));
+        assertTrue(collect(trie, "sax", 10).isEmpty());
+        assertTrue(collect(trie, "samuels", 10).isEmpty());
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        RadixTrie trie = trie("ann", 1, "anna", 2, "anne", 3);
+
+        assertEquals(List.of(1L, 2L), collect(trie, "an", 2));
+    }
+
+    @Test
+    void sharesTermsBetweenIdsWithoutDuplicates() {
+        RadixTrie trie = trie("lee", 1, "lee", 2, "lee", 1);
+
+        assertEquals(List.of(1L, 2L), collect(trie, "lee", 10));
+    }
+
+    @Test
+    void removeLeavesOtherTermsReachable() {
+        RadixTrie trie = trie("sam", 1, "samuel", 2, "sara", 3);
+
+        trie.remove("sam", 1);
+        assertEquals(List.of(2L, 3L), collect(trie, "sa", 10));
+
+        trie.remove("sara", 3);
+        assertEquals(List.of(2L), collect(trie, "s", 10));
+        assertEquals(List.of(2L), collect(trie, "samuel", 10));
+
+        // Unknown terms and ids are ignored
+        trie.remove("samuel", 9);
+        trie.remove("zed", 2);
+        assertEquals(List.of(2L), collect(trie, "sam", 10));
+
+        trie.add("sam", 1);
+        assertEquals(List.of(1L, 2L), collect(trie, "sam", 10));
+    }
+
+    private static RadixTrie trie(Object... termsAndIds) {
+        RadixTrie trie = new RadixTrie();
+        for (int i = 0; i < termsAndIds.length; i += 2) {
+            trie.add((String) termsAndIds[i], ((Integer) termsAndIds[i + 1]).longValue());
+        }
+        return trie;
+    }
+
+    private static List<Long> collect(RadixTrie trie, String prefix, int limit) {
+        Set<Long> out = new LinkedHashSet<>();
+        trie.collect(prefix, limit, out);
+        return List.copyOf(out);
+    }
+}
@@ -0,0 +1,59 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Cursor tokens survive a round trip unchanged, including names with spaces, accents and commas, and
+ * order rows by (lastName, firstName, id) so ties on the name never repeat or skip a row
+ */
+class StudentCursorTest {
+
+    @Test
+    void roundTripsThroughTheToken() {
+        StudentCursor cursor = new StudentCursor("Núñez, Jr", "Ana María", 42L);
+
+        StudentCursor decoded = StudentCursor.decode(cursor.encode());
+
+        assertEquals("Núñez, Jr", decoded.getLastName());
+        assertEquals("Ana María", decoded.getFirstName());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void missingTokenStartsAtTheBeginning() {
+        assertSame(StudentCursor.START, StudentCursor.decode(null));
+        assertSame(StudentCursor.START, StudentCursor.decode(" "));
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> StudentCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> StudentCursor.decode("YWJj"));
+        String badId = Base64.getUrlEncoder().encodeToString("Doe\u0000Jane\u0000x".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> StudentCursor.decode(badId));
+    }
+
+    @Test
+    void ordersByLastNameThenFirstNameThenId() {
+        List<StudentCursor> rows = new ArrayList<>(List.of(
+                new StudentCursor("Smith", "Ava", 7L),
+                new StudentCursor("Brown", "Zoe", 9L),
+                new StudentCursor("Smith", "Ava", 3L),
+                new StudentCursor("Smith", "Aaron", 8L)));
+
+        rows.sort(StudentCursor.ORDER);
+
+        assertEquals(List.of(9L, 8L, 3L, 7L), rows.stream().map(StudentCursor::getId).toList());
+        rows.forEach(row -> assertTrue(StudentCursor.ORDER.compare(row, StudentCursor.START) > 0));
+    }
+}
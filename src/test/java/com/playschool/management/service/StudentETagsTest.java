@@ -0,0 +1,55 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tags are quoted, change with the version or representation, and can be read back for If-Match
+ */
+class StudentETagsTest {
+
+    @Test
+    void studentTagCarriesIdAndVersion() {
+        String tag = StudentETags.forStudent(12L, 3L, null);
+
+        assertEquals("\"12-3\"", tag);
+        assertEquals(3L, StudentETags.versionOf(tag, 12L));
+        assertEquals(3L, StudentETags.versionOf("  " + tag + " ", 12L));
+    }
+
+    @Test
+    void versionOfRejectsOtherTags() {
+        assertNull(StudentETags.versionOf(null, 12L));
+        assertNull(StudentETags.versionOf("12-3", 12L));
+        assertNull(StudentETags.versionOf("\"13-3\"", 12L));
+        assertNull(StudentETags.versionOf("\"12-x\"", 12L));
+        assertNull(StudentETags.versionOf(StudentETags.forStudent(12L, 3L, "fields=id"), 12L));
+    }
+
+    @Test
+    void variantsGetDistinctTags() {
+        String full = StudentETags.forStudent(12L, 3L, null);
+        String partial = StudentETags.forStudent(12L, 3L, "fields=id,firstName");
+
+        assertNotEquals(full, partial);
+        assertEquals(partial, StudentETags.forStudent(12L, 3L, "fields=id,firstName"));
+        assertNotEquals(StudentETags.forCollection(5, "limit=20"), StudentETags.forCollection(5, "limit=50"));
+        assertNotEquals(StudentETags.forCollection(5, null), StudentETags.forCollection(6, null));
+    }
+
+    @Test
+    void ifMatchComparesStrongly() {
+        String current = StudentETags.forStudent(12L, 3L, null);
+
+        assertTrue(StudentETags.matches(null, current));
+        assertTrue(StudentETags.matches("*", current));
+        assertTrue(StudentETags.matches("\"12-2\", " + current, current));
+        assertFalse(StudentETags.matches("\"12-2\"", current));
+        assertFalse(StudentETags.matches("W/" + current, current));
+    }
+}
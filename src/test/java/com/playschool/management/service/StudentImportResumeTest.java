@@ -0,0 +1,133 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.entity.ImportJob;
+import com.playschool.management.entity.ImportJobStatus;
+import com.playschool.management.repository.ImportJobRepository;
+
+/**
+ * Interrupted import jobs are resumed after the last committed row, by exactly one instance, and only
+ * where the upload is on local disk and the previous owner's lease has run out
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "students.import.resume-interval=1h"})
+@ActiveProfiles("test")
+class StudentImportResumeTest {
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private StudentImportWriter importWriter;
+
+    @Test
+    void resumesAfterLastCommittedRowOnceLeaseExpires() throws Exception {
+        ImportJob job = interruptedJob(writeCsv(3), LocalDateTime.now().minusMinutes(1));
+
+        importService.resumeInterruptedJobs();
+
+        ImportJob finished = awaitFinished(job.getId());
+        assertEquals(ImportJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(3, finished.getProcessedRows());
+        assertEquals(2, finished.getImportedRows());
+        assertNotEquals("gone-instance", finished.getOwner());
+    }
+
+    @Test
+    void leavesJobsWithALiveLeaseAlone() throws Exception {
+        ImportJob job = interruptedJob(writeCsv(2), LocalDateTime.now().plusMinutes(5));
+
+        importService.resumeInterruptedJobs();
+
+        ImportJob unchanged = importJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ImportJobStatus.RUNNING, unchanged.getStatus());
+        assertEquals("gone-instance", unchanged.getOwner());
+    }
+
+    @Test
+    void leavesJobsWhoseUploadIsNotOnThisInstance() {
+        ImportJob job = interruptedJob(dir.resolve("elsewhere.csv"), LocalDateTime.now().minusMinutes(1));
+
+        importService.resumeInterruptedJobs();
+
+        assertEquals("gone-instance", importJobRepository.findById(job.getId()).orElseThrow().getOwner());
+    }
+
+    @Test
+    void onlyOneInstanceWinsTheClaim() {
+        ImportJob job = interruptedJob(dir.resolve("claimed.csv"), LocalDateTime.now().minusMinutes(1));
+        List<ImportJobStatus> unfinished = List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(1, importJobRepository.claim(job.getId(), unfinished, "a", now.plusMinutes(2), now));
+        assertEquals(0, importJobRepository.claim(job.getId(), unfinished, "b", now.plusMinutes(2), now));
+        assertEquals("a", importJobRepository.findById(job.getId()).orElseThrow().getOwner());
+    }
+
+    @Test
+    void aRunWithoutTheLeaseLeavesTheJobAlone() {
+        ImportJob job = interruptedJob(dir.resolve("missing.csv"), LocalDateTime.now().plusMinutes(5));
+
+        importService.process(job.getId());
+        assertFalse(importWriter.updateStatus(job.getId(), "other-instance", ImportJobStatus.FAILED, "lost"));
+
+        ImportJob unchanged = importJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ImportJobStatus.RUNNING, unchanged.getStatus());
+        assertEquals("gone-instance", unchanged.getOwner());
+        assertNull(unchanged.getErrorMessage());
+    }
+
+    private Path writeCsv(int rows) throws Exception {
+        StringBuilder csv = new StringBuilder("firstName,lastName,dateOfBirth\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("Resume").append(i).append(",Importtest,").append(LocalDate.now().minusYears(3)).append('\n');
+        }
+        Path file = dir.resolve(UUID.randomUUID() + ".csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    // A job another instance was running when it died, with row 1 already committed
+    private ImportJob interruptedJob(Path file, LocalDateTime leaseExpiresAt) {
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), "students.csv", file.toString(), 100);
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setProcessedRows(1);
+        job.setOwner("gone-instance");
+        job.setLeaseExpiresAt(leaseExpiresAt);
+        return importJobRepository.save(job);
+    }
+
+    private ImportJob awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() == ImportJobStatus.COMPLETED || job.getStatus() == ImportJobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import job " + jobId + " did not finish");
+    }
+}
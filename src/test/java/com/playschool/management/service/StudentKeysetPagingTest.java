@@ -0,0 +1,64 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.dto.response.PageResponse;
+import com.playschool.management.entity.Student;
+
+/**
+ * Walking the active list page by page with the returned cursors visits every student exactly once,
+ * in (lastName, firstName, id) order, even across rows whose names tie
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class StudentKeysetPagingTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Test
+    void cursorsVisitEveryRowOnceInOrder() {
+        List<Student> registered = new ArrayList<>();
+        for (String[] name : new String[][] {
+                {"Bea", "Keysetb"}, {"Ann", "Keyseta"}, {"Ann", "Keyseta"}, {"Cal", "Keyseta"},
+                {"Ann", "Keysetb"}, {"Ann", "Keyseta"}, {"Dee", "Keysetc"}}) {
+            Student student = new Student(name[0], name[1], LocalDate.now().minusYears(3));
+            student.setGender("F");
+            registered.add(studentService.registerStudent(student));
+        }
+        List<Long> expected = registered.stream()
+                .map(StudentCursor::after)
+                .sorted(StudentCursor.ORDER)
+                .map(StudentCursor::getId)
+                .toList();
+
+        Set<Long> ours = new HashSet<>(expected);
+        Set<Long> seen = new HashSet<>();
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<Student> page = studentService.getActiveStudentsPage(cursor, 2);
+            for (Student student : page.getItems()) {
+                assertTrue(seen.add(student.getId()), "student " + student.getId() + " was returned twice");
+                if (ours.contains(student.getId())) {
+                    walked.add(student.getId());
+                }
+            }
+            cursor = page.getNext();
+        } while (cursor != null);
+
+        assertEquals(expected, walked);
+    }
+}
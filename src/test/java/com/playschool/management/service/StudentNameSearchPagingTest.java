@@ -0,0 +1,62 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.dto.response.PageResponse;
+import com.playschool.management.entity.Student;
+import com.playschool.management.repository.StudentRepository;
+
+/**
+ * Search pages follow the index ranking, skip ids whose row is gone without coming up short, and
+ * reject queries shorter than a trigram
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+class StudentNameSearchPagingTest {
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Test
+    void pagesSkipRowsThatAreGone() {
+        List<Long> ids = new ArrayList<>();
+        for (String first : new String[] {"Ana", "Bea", "Cal", "Dee", "Eve"}) {
+            Student student = new Student(first, "Qwsearchpage", LocalDate.now().minusYears(4));
+            student.setGender("F");
+            ids.add(studentService.registerStudent(student).getId());
+        }
+        // Deleted behind the index's back, so its id is still ranked
+        studentRepository.deleteById(ids.get(1));
+
+        List<Long> walked = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            PageResponse<Student> page = studentService.searchStudentsByNamePage("qwsearchpage", cursor, 2);
+            page.getItems().forEach(student -> walked.add(student.getId()));
+            sizes.add(page.getItems().size());
+            cursor = page.getNext();
+        } while (cursor != null);
+
+        assertEquals(List.of(ids.get(0), ids.get(2), ids.get(3), ids.get(4)), walked);
+        assertEquals(List.of(2, 2), sizes);
+    }
+
+    @Test
+    void queriesShorterThanATrigramAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> studentService.searchStudentsByNamePage(" ab ", null, 10));
+    }
+}
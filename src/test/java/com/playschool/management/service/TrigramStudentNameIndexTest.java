@@ -0,0 +1,65 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Ranking (exact, then prefix, then by substring position, then name order), paging through the bounded
+ * top-k, and queries shorter than a trigram, which return nothing
+ */
+class TrigramStudentNameIndexTest {
+
+    private TrigramStudentNameIndex index;
+
+    @BeforeEach
+    void fill() {
+        index = new TrigramStudentNameIndex();
+        index.put(1L, "Mariana", "Lopez");
+        index.put(2L, "Ana", "Smith");
+        index.put(3L, "Anabel", "Jones");
+        index.put(4L, "Johana", "Brown");
+        index.put(5L, "Ana", "Adams");
+    }
+
+    @Test
+    void ranksExactThenPrefixThenSubstringPosition() {
+        assertEquals(List.of(5L, 2L, 3L, 4L, 1L), index.search("ana", 0, 10));
+    }
+
+    @Test
+    void matchesEitherNameCaseInsensitively() {
+        assertEquals(List.of(4L), index.search("  BROWN ", 0, 10));
+        assertEquals(List.of(3L), index.search("nes", 0, 10));
+        assertTrue(index.search("anx", 0, 10).isEmpty());
+    }
+
+    @Test
+    void shortQueriesReturnNothing() {
+        assertTrue(index.search("an", 0, 10).isEmpty());
+        assertTrue(index.search(" z ", 0, 10).isEmpty());
+        assertTrue(index.search("", 0, 10).isEmpty());
+    }
+
+    @Test
+    void pagesWithOffsetAndLimit() {
+        assertEquals(List.of(5L, 2L), index.search("ana", 0, 2));
+        assertEquals(List.of(3L, 4L), index.search("ana", 2, 2));
+        assertEquals(List.of(1L), index.search("ana", 4, 2));
+        assertTrue(index.search("ana", 5, 2).isEmpty());
+    }
+
+    @Test
+    void renameAndRemoveUpdateThePostings() {
+        index.put(4L, "Joan", "Brown");
+        assertEquals(List.of(5L, 2L, 3L, 1L), index.search("ana", 0, 10));
+
+        index.remove(2L);
+        assertEquals(List.of(5L, 3L, 1L), index.search("ana", 0, 10));
+        assertEquals(4, index.size());
+    }
+}